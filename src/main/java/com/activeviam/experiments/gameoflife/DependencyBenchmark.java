@@ -0,0 +1,135 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.DependencyAccessor;
+import com.activeviam.experiments.gameoflife.task.DependencyAccessors;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This program measures the per-task overhead of the {@link Dependency @Dependency} fields: every task is created,
+ * its dependencies are collected and its fields are cleared, as when a workflow is scanned and then executed. It
+ * compares the per-call reflection scan, the {@link DependencyAccessors#reflective reflective accessor} and the
+ * {@link DependencyAccessors#generated generated accessor}.
+ */
+public class DependencyBenchmark {
+
+	private static final int TASKS = 1_000_000;
+	private static final int WARMUP_ROUNDS = 5;
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		DependencyAccessor generated = DependencyAccessors.generated(SampleTask.class);
+		if (generated == null) {
+			throw new IllegalStateException("The accessor of " + SampleTask.class + " was not generated");
+		}
+
+		List<Mode> modes = List.of(
+				new Mode("scan", new ScanAccessor()),
+				new Mode("reflective", DependencyAccessors.reflective(SampleTask.class)),
+				new Mode("generated", generated));
+
+		for (Mode mode : modes) {
+			for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+				run(mode.accessor());
+			}
+
+			long start = System.nanoTime();
+			long count = run(mode.accessor());
+			double time = (System.nanoTime() - start) / (double) TASKS;
+
+			System.out.printf("%-10s %8.1f ns/task (%d dependencies)%n", mode.name(), time, count);
+		}
+	}
+
+	private static long run(DependencyAccessor accessor) {
+		ATask<Void> leaf = new SampleTask(null, null, null, List.of());
+		List<ATask<?>> dependencies = new ArrayList<>();
+		long count = 0;
+
+		for (int i = 0; i < TASKS; ++i) {
+			SampleTask task = new SampleTask(leaf, leaf, leaf, List.of(leaf));
+			dependencies.clear();
+			accessor.collect(task, dependencies);
+			count += dependencies.size();
+			accessor.clear(task);
+		}
+		return count;
+	}
+
+	private record Mode(String name, DependencyAccessor accessor) {
+
+	}
+
+	/**
+	 * The way the tasks accessed their dependencies before the accessors: every call scans the declared fields.
+	 */
+	private static class ScanAccessor implements DependencyAccessor {
+
+		@Override
+		public void collect(ATask<?> task, List<ATask<?>> dependencies) {
+			for (Field field : task.getClass().getDeclaredFields()) {
+				if (!field.isAnnotationPresent(Dependency.class)) {
+					continue;
+				}
+				try {
+					field.setAccessible(true);
+					Object value = field.get(task);
+					if (value instanceof ATask<?> dependency) {
+						dependencies.add(dependency);
+					} else if (value instanceof List<?> list) {
+						list.forEach(x -> dependencies.add((ATask<?>) x));
+					}
+				} catch (IllegalAccessException e) {
+					throw new InternalError(e);
+				}
+			}
+		}
+
+		@Override
+		public void clear(ATask<?> task) {
+			for (Field field : task.getClass().getDeclaredFields()) {
+				if (!field.isAnnotationPresent(Dependency.class)) {
+					continue;
+				}
+				try {
+					field.setAccessible(true);
+					field.set(task, null);
+				} catch (IllegalAccessException e) {
+					throw new InternalError(e);
+				}
+			}
+		}
+	}
+
+	private static class SampleTask extends ATask<Void> {
+
+		@Dependency
+		private ATask<?> prevTask;
+		@Dependency
+		private ATask<?> sameTask;
+		@Dependency
+		private ATask<?> nextTask;
+		@Dependency
+		private List<ATask<?>> otherTasks;
+
+		public SampleTask(ATask<?> prevTask, ATask<?> sameTask, ATask<?> nextTask, List<ATask<?>> otherTasks) {
+			this.prevTask = prevTask;
+			this.sameTask = sameTask;
+			this.nextTask = nextTask;
+			this.otherTasks = otherTasks;
+		}
+
+		@Override
+		protected Void compute() {
+			return null;
+		}
+	}
+}
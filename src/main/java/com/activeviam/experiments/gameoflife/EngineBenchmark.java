@@ -0,0 +1,62 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder;
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder.EngineType;
+import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkType;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceType;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import java.io.File;
+
+/**
+ * This program compares the engines that compute the packed columns of the board on identical inputs, for the
+ * parallelism values of {@link Main}: the task graph, the stripe actors, the bulk-synchronous baseline and the
+ * recursive decomposition on a fork/join pool. The last two run on platform workers by default. The scaling is
+ * bounded by the number of available processors, which is printed first.
+ */
+public class EngineBenchmark {
+
+	private static final int WIDTH = 1000;
+	private static final int HEIGHT = 1000;
+	private static final int GENERATIONS = 500;
+	private static final int WARMUP_ROUNDS = 1;
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		File output = File.createTempFile("game_of_life_", ".txt");
+		output.deleteOnExit();
+		System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+
+		EngineType[] engines =
+				new EngineType[]{EngineType.DENSE, EngineType.ACTORS, EngineType.BSP, EngineType.FORKJOIN};
+		int[] parallelismValues = new int[]{1, 2, 4, 8, 16, 24, 32};
+		for (EngineType engine : engines) {
+			for (int parallelism : parallelismValues) {
+				for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+					build(engine, parallelism, output).call();
+				}
+
+				ATask<Void> task = build(engine, parallelism, output);
+				long start = System.nanoTime();
+				task.call();
+				double time = (System.nanoTime() - start) * 1e-9;
+
+				System.out.printf("%-8s p=%-3d %8.1f generations/s%n", engine, parallelism, GENERATIONS / time);
+			}
+		}
+	}
+
+	private static ATask<Void> build(EngineType engine, int parallelism, File output) {
+		return new GameOfLifeTaskBuilder()
+				.withSource(SourceType.RANDOM, WIDTH, HEIGHT, 0L)
+				.withSink(SinkType.PRETTY, output)
+				.withIterations(GENERATIONS)
+				.withParallelism(parallelism)
+				.withEngine(engine)
+				.build();
+	}
+}
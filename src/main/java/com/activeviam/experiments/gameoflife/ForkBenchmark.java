@@ -0,0 +1,193 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.incubator.concurrent.StructuredTaskScope;
+
+/**
+ * This program measures the latency of forking dependencies that are already started elsewhere, as a
+ * {@code ComputeTask} does with the chunks shared with its neighbours. It compares the {@link TaskForker} with the
+ * previous implementation, where a joiner thread waited for such tasks one after another. Besides the latency, the
+ * number of threads forked in the scope per round is reported:
+ * <ul>
+ *     <li>{@code done}: all the dependencies are already done, the time of a whole fork/join round is reported;</li>
+ *     <li>{@code slow first}: the first dependency takes {@value #SLOW_MILLIS} ms while the others are done, the time
+ *     until the result of the second one is available is reported.</li>
+ * </ul>
+ */
+public class ForkBenchmark {
+
+	private static final int ROUNDS = 100_000;
+	private static final int SLOW_ROUNDS = 200;
+	private static final int SLOW_MILLIS = 2;
+	private static final int DEPENDENCIES = 3;
+	private static final int WARMUP_ROUNDS = 3;
+
+	private static final AtomicLong FORKED = new AtomicLong();
+	private static final ThreadFactory COUNTING_FACTORY = task -> {
+		FORKED.incrementAndGet();
+		return Thread.ofVirtual().unstarted(task);
+	};
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		for (boolean isLegacy : new boolean[]{true, false}) {
+			for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+				runDone(isLegacy, ROUNDS / 10);
+			}
+
+			FORKED.set(0);
+			long start = System.nanoTime();
+			runDone(isLegacy, ROUNDS);
+			double doneTime = (System.nanoTime() - start) * 1e-3 / ROUNDS;
+			double doneThreads = (double) FORKED.get() / ROUNDS;
+
+			FORKED.set(0);
+			double slowTime = runSlowFirst(isLegacy) * 1e-3 / SLOW_ROUNDS;
+			double slowThreads = (double) FORKED.get() / SLOW_ROUNDS;
+
+			System.out.printf("%-8s done: %8.2f us/round, %.2f threads/round;"
+							+ " slow first: %8.2f us until the second result, %.2f threads/round%n",
+					isLegacy ? "joiner" : "callback", doneTime, doneThreads, slowTime, slowThreads);
+		}
+	}
+
+	private static void runDone(boolean isLegacy, int rounds) throws Exception {
+		List<ATask<Integer>> dependencies = new ArrayList<>();
+		for (int i = 0; i < DEPENDENCIES; ++i) {
+			ATask<Integer> task = new ValueTask(i, null);
+			task.call();
+			dependencies.add(task);
+		}
+
+		for (int round = 0; round < rounds; ++round) {
+			try (var scope = new StructuredTaskScope.ShutdownOnFailure("fork", COUNTING_FACTORY)) {
+				List<Future<Integer>> futures = fork(isLegacy, scope, dependencies);
+				scope.join().throwIfFailed();
+				for (Future<Integer> future : futures) {
+					future.get();
+				}
+			}
+		}
+	}
+
+	private static long runSlowFirst(boolean isLegacy) throws Exception {
+		long total = 0;
+		for (int round = 0; round < SLOW_ROUNDS; ++round) {
+			CountDownLatch started = new CountDownLatch(1);
+			ATask<Integer> slow = new ValueTask(0, started);
+			Thread.startVirtualThread(() -> {
+				try {
+					slow.call();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			});
+			started.await();
+
+			ATask<Integer> fast = new ValueTask(1, null);
+			fast.call();
+
+			try (var scope = new StructuredTaskScope.ShutdownOnFailure("fork", COUNTING_FACTORY)) {
+				long start = System.nanoTime();
+				List<Future<Integer>> futures = fork(isLegacy, scope, List.of(slow, fast));
+				futures.get(1).get();
+				total += System.nanoTime() - start;
+
+				scope.join().throwIfFailed();
+				for (Future<Integer> future : futures) {
+					future.get();
+				}
+			}
+		}
+		return total;
+	}
+
+	private static List<Future<Integer>> fork(boolean isLegacy, StructuredTaskScope<Object> scope,
+			List<ATask<Integer>> tasks) throws Exception {
+		List<Future<Integer>> futures = new ArrayList<>();
+		if (isLegacy) {
+			var forker = new JoinerForker(scope);
+			for (ATask<Integer> task : tasks) {
+				futures.add(forker.enqueue(task));
+			}
+			forker.done();
+		} else {
+			var forker = new TaskForker<>(scope);
+			for (ATask<Integer> task : tasks) {
+				futures.add(forker.fork(task));
+			}
+			forker.done();
+		}
+		return futures;
+	}
+
+	/**
+	 * The previous way to wait for the started tasks: a joiner thread waits for them in the fork order.
+	 */
+	private static class JoinerForker {
+
+		private record Entry(ATask<?> task, CompletableFuture<Object> future) {
+
+		}
+
+		private static final Entry POISON = new Entry(null, null);
+		private final LinkedBlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+
+		JoinerForker(StructuredTaskScope<Object> scope) {
+			scope.fork(() -> {
+				while (true) {
+					Entry entry = queue.take();
+					if (entry == POISON) {
+						return null;
+					}
+					entry.future().complete(entry.task().call());
+				}
+			});
+		}
+
+		@SuppressWarnings("unchecked")
+		<U> Future<U> enqueue(ATask<U> task) throws InterruptedException {
+			CompletableFuture<Object> future = new CompletableFuture<>();
+			queue.put(new Entry(task, future));
+			return (Future<U>) future;
+		}
+
+		void done() {
+			queue.add(POISON);
+		}
+	}
+
+	private static class ValueTask extends ATask<Integer> {
+
+		private final int value;
+		private final CountDownLatch started;
+
+		ValueTask(int value, CountDownLatch started) {
+			this.value = value;
+			this.started = started;
+		}
+
+		@Override
+		protected Integer compute() throws Exception {
+			if (started != null) {
+				started.countDown();
+				Thread.sleep(SLOW_MILLIS);
+			}
+			return value;
+		}
+	}
+}
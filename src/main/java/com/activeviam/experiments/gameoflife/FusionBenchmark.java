@@ -0,0 +1,64 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder;
+import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkType;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceType;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.TaskUtils;
+import java.io.File;
+
+/**
+ * This program compares the workflows of a fine-grained configuration (narrow stripes) with and without the
+ * {@link GameOfLifeTaskBuilder#useFusion(boolean) fusion of the single-consumer chains} and the
+ * {@link GameOfLifeTaskBuilder#withMinStripeWidth(int) merge of the narrow stripes}: it reports the number of tasks in
+ * the workflow and the throughput.
+ */
+public class FusionBenchmark {
+
+	private static final int WIDTH = 1000;
+	private static final int HEIGHT = 1000;
+	private static final int GENERATIONS = 500;
+	private static final int PARALLELISM = 100;
+	private static final int MIN_STRIPE_WIDTH = 64;
+	private static final int WARMUP_ROUNDS = 2;
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		File output = File.createTempFile("game_of_life_", ".txt");
+		output.deleteOnExit();
+
+		for (int minStripeWidth : new int[]{0, MIN_STRIPE_WIDTH}) {
+			for (boolean useFusion : new boolean[]{false, true}) {
+				for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+					build(useFusion, minStripeWidth, output).call();
+				}
+
+				ATask<Void> task = build(useFusion, minStripeWidth, output);
+				int numTasks = TaskUtils.collectTasks(task).size();
+
+				long start = System.nanoTime();
+				task.call();
+				double time = (System.nanoTime() - start) * 1e-9;
+
+				System.out.printf("min width=%-3d fusion=%-5b %8d tasks, %8.1f generations/s%n", minStripeWidth,
+						useFusion, numTasks, GENERATIONS / time);
+			}
+		}
+	}
+
+	private static ATask<Void> build(boolean useFusion, int minStripeWidth, File output) {
+		return new GameOfLifeTaskBuilder()
+				.withSource(SourceType.RANDOM, WIDTH, HEIGHT, 0L)
+				.withSink(SinkType.PRETTY, output)
+				.withIterations(GENERATIONS)
+				.withParallelism(PARALLELISM)
+				.withMinStripeWidth(minStripeWidth)
+				.useFusion(useFusion)
+				.build();
+	}
+}
@@ -0,0 +1,73 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.Board;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel.KernelType;
+import com.activeviam.experiments.gameoflife.biz.kernel.Neighbourhood;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.RandomRetrieveTask;
+import java.util.Arrays;
+
+/**
+ * This program compares the {@link AKernel kernels} on the same board: it checks that all of them produce the same
+ * result as the {@link KernelType#SCALAR reference kernel} and reports the time per generation.
+ */
+public class KernelBenchmark {
+
+	private static final int WIDTH = 1000;
+	private static final int HEIGHT = 1000;
+	private static final int GENERATIONS = 200;
+	private static final int WARMUP_ROUNDS = 3;
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		Board board =
+				GameOfLifeContext
+						.withContext(new GameOfLifeContext(1, GENERATIONS))
+						.call(new RandomRetrieveTask(WIDTH, HEIGHT, 0L));
+
+		BoardChunk reference = null;
+		double referenceTime = 0;
+		for (KernelType type : KernelType.values()) {
+			AKernel kernel = AKernel.build(type);
+			for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+				run(kernel, board);
+			}
+
+			long start = System.nanoTime();
+			BoardChunk result = run(kernel, board);
+			double timePerGeneration = (System.nanoTime() - start) * 1e-6 / GENERATIONS;
+
+			if (reference == null) {
+				reference = result;
+				referenceTime = timePerGeneration;
+			} else if (!Arrays.deepEquals(reference.getData(), result.getData())) {
+				throw new IllegalStateException("Kernel " + type + " differs from the reference kernel");
+			}
+
+			System.out.printf("%-8s %8.3f ms/generation, speedup x%.1f%n",
+					type, timePerGeneration, referenceTime / timePerGeneration);
+		}
+	}
+
+	private static BoardChunk run(AKernel kernel, Board board) {
+		long[][] cells = new long[board.width()][];
+		for (int x = 0; x < cells.length; ++x) {
+			cells[x] = board.cells()[x].clone();
+		}
+
+		BoardChunk chunk = BoardChunk.ring(new Board(board.width(), board.height(), cells).getChunk(0, WIDTH), 2);
+		for (int i = 0; i < GENERATIONS; ++i) {
+			BoardChunk next = chunk.nextChunk();
+			kernel.fill(next, new Neighbourhood(chunk, null, null));
+			chunk = next;
+		}
+		return chunk;
+	}
+}
@@ -0,0 +1,58 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder;
+import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkType;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceType;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import java.io.File;
+
+/**
+ * This program compares the workflows built with different
+ * {@link GameOfLifeTaskBuilder#withRebalancePeriod(int) rebalance periods}. The activity of a random board fades
+ * unevenly, so with {@link GameOfLifeTaskBuilder#useActivityTracking(boolean) activity tracking} the cost of the
+ * stripes drifts apart over the generations.
+ */
+public class RebalanceBenchmark {
+
+	private static final int WIDTH = 1000;
+	private static final int HEIGHT = 1000;
+	private static final int GENERATIONS = 2000;
+	private static final int PARALLELISM = 8;
+	private static final int WARMUP_ROUNDS = 1;
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		File output = File.createTempFile("game_of_life_", ".txt");
+		output.deleteOnExit();
+
+		int[] periodValues = new int[]{0, 16, 64, 256};
+		for (int period : periodValues) {
+			for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+				build(period, output).call();
+			}
+
+			ATask<Void> task = build(period, output);
+			long start = System.nanoTime();
+			task.call();
+			double time = (System.nanoTime() - start) * 1e-9;
+
+			System.out.printf("period=%-4d %8.1f generations/s%n", period, GENERATIONS / time);
+		}
+	}
+
+	private static ATask<Void> build(int period, File output) {
+		return new GameOfLifeTaskBuilder()
+				.withSource(SourceType.RANDOM, WIDTH, HEIGHT, 0L)
+				.withSink(SinkType.PRETTY, output)
+				.withIterations(GENERATIONS)
+				.withParallelism(PARALLELISM)
+				.useActivityTracking(true)
+				.withRebalancePeriod(period)
+				.build();
+	}
+}
@@ -0,0 +1,97 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder;
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder.EngineType;
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder.RunnerType;
+import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkType;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceType;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * This program measures the peak retained heap of a workflow with and without
+ * {@link GameOfLifeTaskBuilder#useResultRelease(boolean) the release of the intermediate results}, for several
+ * sources, sinks and runners. The heap is sampled after a full GC every {@value #SAMPLING_MILLIS} ms, the reported
+ * value is the peak above the heap used before the workflow is started.
+ */
+public class RetainedHeapBenchmark {
+
+	private static final int GENERATIONS = 200;
+	private static final int PARALLELISM = 8;
+	private static final int SAMPLING_MILLIS = 50;
+	private static final double BYTES_TO_MB = 1.0 / (1 << 20);
+
+	private record Scenario(SourceType source, EngineType engine, SinkType sink, Object... sourceArgs) {
+
+	}
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		File output = File.createTempFile("game_of_life_", ".txt");
+		output.deleteOnExit();
+
+		Scenario[] scenarios = new Scenario[]{
+				new Scenario(SourceType.RANDOM, EngineType.DENSE, SinkType.PRETTY, 1000, 1000, 0L),
+				new Scenario(SourceType.RANDOM, EngineType.DENSE, SinkType.CELLS, 1000, 1000, 0L),
+				new Scenario(SourceType.GLIDERS, EngineType.SPARSE, SinkType.CELLS, 4000, 4000, 2000, 0L),
+				new Scenario(SourceType.GLIDERS, EngineType.SPARSE, SinkType.PRETTY, 4000, 4000, 2000, 0L)
+		};
+		for (Scenario scenario : scenarios) {
+			for (RunnerType runner : RunnerType.values()) {
+				for (boolean useResultRelease : new boolean[]{false, true}) {
+					ATask<Void> task = build(scenario, runner, useResultRelease, output);
+					long peak = measurePeak(task);
+
+					System.out.printf("%-8s %-7s %-7s %-12s release=%-5b %8.1f MB%n", scenario.source(),
+							scenario.engine(), scenario.sink(), runner, useResultRelease, peak * BYTES_TO_MB);
+				}
+			}
+		}
+	}
+
+	private static long measurePeak(ATask<Void> task) throws Exception {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long baseline = memory.getHeapMemoryUsage().getUsed();
+		long[] peak = new long[]{baseline};
+
+		Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+			try {
+				while (true) {
+					Thread.sleep(SAMPLING_MILLIS);
+					System.gc();
+					peak[0] = Math.max(peak[0], memory.getHeapMemoryUsage().getUsed());
+				}
+			} catch (InterruptedException e) {
+				// The workflow is done
+			}
+		});
+
+		try {
+			task.call();
+		} finally {
+			sampler.interrupt();
+			sampler.join();
+		}
+		return peak[0] - baseline;
+	}
+
+	private static ATask<Void> build(Scenario scenario, RunnerType runner, boolean useResultRelease, File output) {
+		return new GameOfLifeTaskBuilder()
+				.withSource(scenario.source(), scenario.sourceArgs())
+				.withEngine(scenario.engine())
+				.withSink(scenario.sink(), output)
+				.withIterations(GENERATIONS)
+				.withParallelism(PARALLELISM)
+				.withRunner(runner)
+				.useResultRelease(useResultRelease)
+				.build();
+	}
+}
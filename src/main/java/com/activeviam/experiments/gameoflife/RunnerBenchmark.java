@@ -0,0 +1,63 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder;
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder.RunnerType;
+import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkType;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceType;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import java.io.File;
+
+/**
+ * This program compares the ways to run a workflow (see {@link GameOfLifeTaskBuilder#withRunner(RunnerType)}) on a
+ * wide graph (large board, few generations) and on a deep one (small board, many generations).
+ */
+public class RunnerBenchmark {
+
+	private static final int PARALLELISM = 16;
+	private static final int WARMUP_ROUNDS = 2;
+
+	private record Scenario(String name, int width, int height, int generations) {
+
+	}
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		File output = File.createTempFile("game_of_life_", ".txt");
+		output.deleteOnExit();
+
+		Scenario[] scenarios = new Scenario[]{
+				new Scenario("wide", 1000, 1000, 500),
+				new Scenario("deep", 200, 200, 10_000)
+		};
+		for (Scenario scenario : scenarios) {
+			for (RunnerType runner : RunnerType.values()) {
+				for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+					build(scenario, runner, output).call();
+				}
+
+				ATask<Void> task = build(scenario, runner, output);
+				long start = System.nanoTime();
+				task.call();
+				double time = (System.nanoTime() - start) * 1e-9;
+
+				System.out.printf("%-5s %-12s %10.1f generations/s%n", scenario.name(), runner,
+						scenario.generations() / time);
+			}
+		}
+	}
+
+	private static ATask<Void> build(Scenario scenario, RunnerType runner, File output) {
+		return new GameOfLifeTaskBuilder()
+				.withSource(SourceType.RANDOM, scenario.width(), scenario.height(), 0L)
+				.withSink(SinkType.PRETTY, output)
+				.withIterations(scenario.generations())
+				.withParallelism(PARALLELISM)
+				.withRunner(runner)
+				.build();
+	}
+}
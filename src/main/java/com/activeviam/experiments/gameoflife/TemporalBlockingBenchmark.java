@@ -0,0 +1,59 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder;
+import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkType;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceType;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.TaskUtils;
+import java.io.File;
+
+/**
+ * This program compares the workflows built with different
+ * {@link GameOfLifeTaskBuilder#withTemporalBlocking(int) temporal blocking} depths: it reports the number of tasks in
+ * the workflow and the throughput.
+ */
+public class TemporalBlockingBenchmark {
+
+	private static final int WIDTH = 1000;
+	private static final int HEIGHT = 1000;
+	private static final int GENERATIONS = 1000;
+	private static final int PARALLELISM = 25;
+	private static final int WARMUP_ROUNDS = 2;
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		File output = File.createTempFile("game_of_life_", ".txt");
+		output.deleteOnExit();
+
+		int[] depthValues = new int[]{1, 2, 4, 8, 16};
+		for (int depth : depthValues) {
+			for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+				build(depth, output).call();
+			}
+
+			ATask<Void> task = build(depth, output);
+			int numTasks = TaskUtils.collectTasks(task).size();
+
+			long start = System.nanoTime();
+			task.call();
+			double time = (System.nanoTime() - start) * 1e-9;
+
+			System.out.printf("k=%-3d %8d tasks, %8.1f generations/s%n", depth, numTasks, GENERATIONS / time);
+		}
+	}
+
+	private static ATask<Void> build(int depth, File output) {
+		return new GameOfLifeTaskBuilder()
+				.withSource(SourceType.RANDOM, WIDTH, HEIGHT, 0L)
+				.withSink(SinkType.PRETTY, output)
+				.withIterations(GENERATIONS)
+				.withParallelism(PARALLELISM)
+				.withTemporalBlocking(depth)
+				.build();
+	}
+}
@@ -0,0 +1,88 @@
+package com.activeviam.experiments.gameoflife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder;
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder.RunnerType;
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeTaskBuilder.ThreadType;
+import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkType;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceType;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import java.io.File;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This program compares the {@link ThreadType threads} forked by the workflow, with the bounded runner and with the
+ * dataflow scheduler, whose fixed workers form a dedicated pool. Both of them bound the number of threads alive, the
+ * pull runner would hold a platform thread per waiting task. The custom threads are named platform threads, and the
+ * number of threads created by a run is reported.
+ * <p>
+ * The carrier threads of the virtual threads are shared by the JVM, so their number is set per run: the optional
+ * argument is the carrier parallelism, it is applied before any virtual thread is started.
+ */
+public class ThreadBenchmark {
+
+	private static final int WIDTH = 1000;
+	private static final int HEIGHT = 1000;
+	private static final int GENERATIONS = 500;
+	private static final int WARMUP_ROUNDS = 1;
+
+	/**
+	 * The entry point.
+	 *
+	 * @param args Command line arguments: the optional number of carrier threads
+	 * @throws Exception if something goes wrong :)
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length > 0) {
+			System.setProperty("jdk.virtualThreadScheduler.parallelism", args[0]);
+		}
+		System.out.println("Carrier parallelism: " + System.getProperty("jdk.virtualThreadScheduler.parallelism",
+				String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+		File output = File.createTempFile("game_of_life_", ".txt");
+		output.deleteOnExit();
+
+		RunnerType[] runners = new RunnerType[]{RunnerType.BOUNDED, RunnerType.DATAFLOW};
+		int[] parallelismValues = new int[]{1, 2, 4, 8, 16, 24, 32};
+		for (RunnerType runner : runners) {
+			for (ThreadType threads : ThreadType.values()) {
+				for (int parallelism : parallelismValues) {
+					for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+						build(runner, threads, parallelism, new AtomicInteger(), output).call();
+					}
+
+					AtomicInteger created = new AtomicInteger();
+					ATask<Void> task = build(runner, threads, parallelism, created, output);
+					long start = System.nanoTime();
+					task.call();
+					double time = (System.nanoTime() - start) * 1e-9;
+
+					System.out.printf("%-8s %-8s p=%-3d %8.1f generations/s", runner, threads, parallelism,
+							GENERATIONS / time);
+					System.out.println(threads == ThreadType.CUSTOM ? ", " + created.get() + " threads" : "");
+				}
+			}
+		}
+	}
+
+	private static ATask<Void> build(RunnerType runner, ThreadType threads, int parallelism, AtomicInteger created,
+			File output) {
+		GameOfLifeTaskBuilder builder = new GameOfLifeTaskBuilder()
+				.withSource(SourceType.RANDOM, WIDTH, HEIGHT, 0L)
+				.withSink(SinkType.PRETTY, output)
+				.withIterations(GENERATIONS)
+				.withParallelism(parallelism)
+				.withRunner(runner);
+
+		if (threads == ThreadType.CUSTOM) {
+			ThreadFactory factory = Thread.ofPlatform().name("game-of-life-", 0).factory();
+			builder.withThreadFactory(task -> {
+				created.incrementAndGet();
+				return factory.newThread(task);
+			});
+		} else {
+			builder.withThreads(threads);
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,25 @@
+package com.activeviam.experiments.gameoflife.biz;
+
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import java.util.List;
+
+/**
+ * This interface is implemented by the engines that produce the last generation as packed {@link BoardChunk chunks},
+ * so that they share the export tasks. An engine may return a task per stripe (e.g. the {@code ComputeTask} graph)
+ * or a single task for the whole board.
+ */
+@FunctionalInterface
+public interface ChunkEngine {
+
+	/**
+	 * Build the tasks that compute the generations.
+	 *
+	 * @param retrieveTask The task that returns the initial board
+	 * @param iterations   Number of generations to be computed
+	 * @param parallelism  Number of chunks, or of threads for the engines that compute the whole board at once
+	 * @return The tasks that return the chunks of the last generation, from left to right
+	 */
+	List<ATask<BoardChunk>> build(ARetrieveTask retrieveTask, int iterations, int parallelism);
+}
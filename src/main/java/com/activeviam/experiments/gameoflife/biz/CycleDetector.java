@@ -0,0 +1,156 @@
+package com.activeviam.experiments.gameoflife.biz;
+
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class detects still lifes and oscillators of the whole board. Every stripe adds the fingerprint of each of its
+ * generations, the fingerprint of a generation is complete once all the stripes have added theirs. When the
+ * fingerprint of a generation matches one of the last {@link #MAX_PERIOD} generations, the board is periodic and all
+ * the generations after the first one equivalent to the last generation modulo the period are skipped.
+ * <p>
+ * The memory does not depend on the number of generations: a stripe depends on the previous generation of its
+ * neighbours, so the stripes are at most {@code parallelism - 1} generations apart and the incomplete fingerprints
+ * are kept in a ring of {@code parallelism + 1} slots. The complete ones are kept in a ring of {@link #MAX_PERIOD}
+ * slots.
+ * <p>
+ * The fingerprints are 64-bit hashes, so two different boards are assumed to never have the same fingerprint.
+ */
+public class CycleDetector {
+
+	/**
+	 * The longest period that may be detected.
+	 */
+	public static final int MAX_PERIOD = 64;
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * Description of a detected cycle.
+	 *
+	 * @param period             Period of the cycle
+	 * @param generation         The generation when the cycle was detected
+	 * @param skippedGenerations Number of generations that were not computed
+	 */
+	public record Cycle(int period, int generation, int skippedGenerations) {
+
+	}
+
+	private final int parallelism;
+	private final int iterations;
+	// Rings of the incomplete fingerprints, indexed by generation modulo their length
+	private final AtomicLongArray fingerprints;
+	private final AtomicIntegerArray counts;
+
+	// Guarded by this
+	private final long[] history = new long[MAX_PERIOD];
+	private final int[] historyGenerations = new int[MAX_PERIOD];
+	private int maxStartedGeneration = 0;
+	private int stopGeneration = Integer.MAX_VALUE;
+
+	/**
+	 * Constructs a new detector.
+	 *
+	 * @param parallelism Number of stripes
+	 * @param iterations  Number of generations to be computed
+	 */
+	public CycleDetector(int parallelism, int iterations) {
+		this.parallelism = parallelism;
+		this.iterations = iterations;
+		this.fingerprints = new AtomicLongArray(parallelism + 1);
+		this.counts = new AtomicIntegerArray(parallelism + 1);
+		Arrays.fill(historyGenerations, -1);
+	}
+
+	/**
+	 * Compute the fingerprint of a stripe. The fingerprints of the stripes of a board are summed, so the column
+	 * positions are part of the fingerprint.
+	 *
+	 * @param chunk The stripe
+	 * @return The fingerprint
+	 */
+	public static long fingerprint(BoardChunk chunk) {
+		long result = 0;
+		for (int x = 0; x < chunk.getStripeWidth(); ++x) {
+			long h = chunk.getBeginWidth() + x;
+			for (long word : chunk.getColumn(x)) {
+				h = (h ^ word) * GOLDEN_GAMMA;
+				h ^= h >>> 32;
+			}
+			result += mix(h);
+		}
+		return result;
+	}
+
+	private static long mix(long h) {
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+		return h ^ (h >>> 31);
+	}
+
+	/**
+	 * Check whether a generation must be computed. Must be called by a stripe right before computing the generation.
+	 *
+	 * @param generation The generation to be computed
+	 * @return {@code false} if the generation is skipped: the stripe should keep its previous generation
+	 */
+	public synchronized boolean shouldCompute(int generation) {
+		if (generation > stopGeneration) {
+			return false;
+		}
+		maxStartedGeneration = Math.max(maxStartedGeneration, generation);
+		return true;
+	}
+
+	/**
+	 * Add the fingerprint of a stripe. The fingerprint of the generation {@code 0} must be added too, so that a board
+	 * that is periodic from the start is detected as soon as possible.
+	 *
+	 * @param generation  The generation of the stripe
+	 * @param fingerprint The fingerprint of the stripe, see {@link #fingerprint}
+	 */
+	public void addFingerprint(int generation, long fingerprint) {
+		int slot = generation % counts.length();
+		fingerprints.addAndGet(slot, fingerprint);
+		if (counts.incrementAndGet(slot) == parallelism) {
+			// No stripe reuses the slot before all the stripes have added the fingerprint of this generation
+			long total = fingerprints.getAndSet(slot, 0);
+			counts.set(slot, 0);
+			complete(generation, total);
+		}
+	}
+
+	public synchronized boolean isDetected() {
+		return stopGeneration != Integer.MAX_VALUE;
+	}
+
+	private synchronized void complete(int generation, long fingerprint) {
+		if (isDetected()) {
+			return;
+		}
+
+		for (int period = 1; period <= MAX_PERIOD && period <= generation; ++period) {
+			int slot = (generation - period) % MAX_PERIOD;
+			if (historyGenerations[slot] == generation - period && history[slot] == fingerprint) {
+				onCycle(generation, period);
+				return;
+			}
+		}
+
+		int slot = generation % MAX_PERIOD;
+		history[slot] = fingerprint;
+		historyGenerations[slot] = generation;
+	}
+
+	private void onCycle(int generation, int period) {
+		// The generations up to maxStartedGeneration may already be computed, stop at the first later generation
+		// that is equivalent to the last one
+		int from = Math.max(generation, maxStartedGeneration);
+		int stop = from + Math.floorMod(iterations - from, period);
+		stopGeneration = stop;
+
+		GameOfLifeContext.getContext().setCycle(new Cycle(period, generation, Math.max(iterations - stop, 0)));
+	}
+}
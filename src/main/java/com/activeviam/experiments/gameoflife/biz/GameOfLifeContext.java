@@ -1,12 +1,17 @@
 package com.activeviam.experiments.gameoflife.biz;
 
+import com.activeviam.experiments.gameoflife.task.BoundedRunner;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 import jdk.incubator.concurrent.ExtentLocal;
+import jdk.incubator.concurrent.StructuredTaskScope;
 
 /**
  * This class represents the context of computation of the Game Of Life.
@@ -53,7 +58,12 @@ public class GameOfLifeContext {
 
 	private final int parallelism;
 	private final int iterations;
+	private final ThreadFactory threadFactory;
 	private final AtomicIntegerArray progress;
+	private final AtomicLongArray computeTimes;
+	private final LongAdder skippedCells = new LongAdder();
+	private volatile CycleDetector.Cycle cycle;
+	private volatile BoundedRunner<?> runner;
 	private final Map<ExecutionStage, Long> timestamps = new HashMap<>();
 
 	/**
@@ -63,9 +73,22 @@ public class GameOfLifeContext {
 	 * @param iterations  Number of iterations to be computed
 	 */
 	public GameOfLifeContext(int parallelism, int iterations) {
+		this(parallelism, iterations, Thread.ofVirtual().factory());
+	}
+
+	/**
+	 * Construct a new context instance whose tasks fork the threads of a factory.
+	 *
+	 * @param parallelism   Number of parallel computation flows
+	 * @param iterations    Number of iterations to be computed
+	 * @param threadFactory The factory of the threads forked by the tasks
+	 */
+	public GameOfLifeContext(int parallelism, int iterations, ThreadFactory threadFactory) {
 		this.parallelism = parallelism;
 		this.iterations = iterations;
+		this.threadFactory = threadFactory;
 		this.progress = new AtomicIntegerArray(parallelism);
+		this.computeTimes = new AtomicLongArray(parallelism);
 	}
 
 	public int getParallelism() {
@@ -76,6 +99,20 @@ public class GameOfLifeContext {
 		return iterations;
 	}
 
+	public ThreadFactory getThreadFactory() {
+		return threadFactory;
+	}
+
+	/**
+	 * Open a scope whose threads are created by the {@link #getThreadFactory() factory} of the workflow. The tasks
+	 * fork their dependencies in such scopes, so that the whole workflow runs on the same kind of threads.
+	 *
+	 * @return A new scope
+	 */
+	public StructuredTaskScope.ShutdownOnFailure newScope() {
+		return new StructuredTaskScope.ShutdownOnFailure(null, threadFactory);
+	}
+
 	/**
 	 * Get the iteration of the {@code idx}'th computation flow.
 	 *
@@ -95,6 +132,86 @@ public class GameOfLifeContext {
 		progress.addAndGet(idx, 1);
 	}
 
+	/**
+	 * Notify the context that several more iterations are done.
+	 *
+	 * @param idx        The index of computation flow
+	 * @param iterations Number of iterations done
+	 */
+	public void addProgress(int idx, int iterations) {
+		progress.addAndGet(idx, iterations);
+	}
+
+	/**
+	 * Get the time spent computing the generations of the {@code idx}'th computation flow. Only the computation tasks
+	 * of the stripes report it.
+	 *
+	 * @param idx The index of computation flow
+	 * @return Computation time in nanoseconds
+	 */
+	public long getComputeTime(int idx) {
+		return computeTimes.get(idx);
+	}
+
+	/**
+	 * Notify the context that some time was spent computing a generation.
+	 *
+	 * @param idx   The index of computation flow
+	 * @param nanos Computation time in nanoseconds
+	 */
+	public void addComputeTime(int idx, long nanos) {
+		computeTimes.addAndGet(idx, nanos);
+	}
+
+	/**
+	 * Notify the context that some cells were not recomputed since their neighbourhood was stable.
+	 *
+	 * @param cells Number of skipped cells
+	 */
+	public void addSkippedCells(long cells) {
+		skippedCells.add(cells);
+	}
+
+	public long getSkippedCells() {
+		return skippedCells.sum();
+	}
+
+	/**
+	 * Notify the context that the board has become periodic, see {@link CycleDetector}.
+	 *
+	 * @param cycle The detected cycle
+	 */
+	public void setCycle(CycleDetector.Cycle cycle) {
+		this.cycle = cycle;
+	}
+
+	/**
+	 * Get the detected cycle.
+	 *
+	 * @return The cycle, or null if none was detected
+	 */
+	public CycleDetector.Cycle getCycle() {
+		return cycle;
+	}
+
+	/**
+	 * Attach the runner of the workflow, so that its statistics are reported.
+	 *
+	 * @param runner The runner
+	 */
+	public void setRunner(BoundedRunner<?> runner) {
+		this.runner = runner;
+	}
+
+	/**
+	 * Get the runner of the workflow.
+	 *
+	 * @return The runner, or null if the tasks are not run by a {@link BoundedRunner}
+	 */
+	public BoundedRunner<?> getRunner() {
+		return runner;
+	}
+
 	/**
 	 * Notify the context that the computation has started a new stage.
 	 *
@@ -130,6 +247,8 @@ public class GameOfLifeContext {
 				"parallelism=" + parallelism +
 				", iterations=" + iterations +
 				", progress=" + progress +
+				", skippedCells=" + skippedCells +
+				", cycle=" + cycle +
 				", timestamps=" + timestamps +
 				'}';
 	}
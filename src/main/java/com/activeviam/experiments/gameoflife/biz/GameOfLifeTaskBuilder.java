@@ -2,31 +2,167 @@ package com.activeviam.experiments.gameoflife.biz;
 
 import com.activeviam.experiments.gameoflife.biz.board.Board;
 import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.Halo;
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
+import com.activeviam.experiments.gameoflife.biz.board.SparseChunk;
+import com.activeviam.experiments.gameoflife.biz.hashlife.HashLife;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel.KernelType;
+import com.activeviam.experiments.gameoflife.biz.kernel.ActivityTrackingKernel;
 import com.activeviam.experiments.gameoflife.biz.tasks.GameOfLifeWatcher;
 import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask;
 import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkConfig;
 import com.activeviam.experiments.gameoflife.biz.tasks.export.AExportTask.SinkType;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.BorderComputeTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.BulkSynchronousTask;
 import com.activeviam.experiments.gameoflife.biz.tasks.process.ComputeTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.HaloTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.HashLifeTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.InteriorComputeTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.LayeredComputeTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.LayeredComputeTask.LayerFactory;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.RebalanceTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.RecursiveComputeTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.SparseComputeTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.SparseMergeTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.SparseSplitTask;
 import com.activeviam.experiments.gameoflife.biz.tasks.process.SplitTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.StripeActorsTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.TileComputeTask;
 import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask;
 import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceConfig;
 import com.activeviam.experiments.gameoflife.biz.tasks.retrieve.ARetrieveTask.SourceType;
 import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.BoundedRunner;
+import com.activeviam.experiments.gameoflife.task.DataflowScheduler;
 import com.activeviam.experiments.gameoflife.task.Dependency;
 import com.activeviam.experiments.gameoflife.task.TaskUtils;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * This class is used to build a Game Of Life computation workflow.
  */
 public class GameOfLifeTaskBuilder {
 
+	/**
+	 * This enum is used to select the representation of the board.
+	 */
+	public enum EngineType {
+		/**
+		 * Store all the cells as packed columns split into stripes or tiles. See {@link ComputeTask}.
+		 */
+		DENSE,
+		/**
+		 * Store only the live cells split into stripes. Suitable for huge mostly-empty boards. See
+		 * {@link SparseComputeTask}.
+		 */
+		SPARSE,
+		/**
+		 * Store the board as a memoised quadtree and jump over many generations at once. Suitable for long runs on
+		 * structured boards. See {@link HashLife}.
+		 */
+		HASHLIFE,
+		/**
+		 * Store all the cells as packed columns split into stripes, each stripe is computed by a long-lived thread that
+		 * exchanges halos with its neighbours. See {@link StripeActorsTask}.
+		 */
+		ACTORS,
+		/**
+		 * Store the whole board as two packed buffers, a fixed pool of threads computes its stripes of each generation
+		 * and synchronises with a phaser. The workers are platform threads with {@link ThreadType#VIRTUAL}, the
+		 * default, so that the baseline does not depend on the virtual thread scheduler; the other thread types are
+		 * used as configured. See {@link BulkSynchronousTask}.
+		 */
+		BSP,
+		/**
+		 * Store the whole board as two packed buffers, every generation is split recursively into regions computed on a
+		 * fork/join pool. The pool always runs on its own platform {@link java.util.concurrent.ForkJoinWorkerThread
+		 * workers}, whatever the {@link ThreadType}. See {@link RecursiveComputeTask}.
+		 */
+		FORKJOIN
+	}
+
+	/**
+	 * This enum is used to select how the tasks of the workflow are run.
+	 */
+	public enum RunnerType {
+		/**
+		 * Every task calls its dependencies, which are run on demand (default).
+		 */
+		PULL,
+		/**
+		 * All the tasks are forked at once in the topological order. See {@link TaskUtils#buildRunner}.
+		 */
+		TOPOLOGICAL,
+		/**
+		 * The tasks are forked in a topological order, the critical path first, with a bounded number of tasks in
+		 * flight. See {@link BoundedRunner}.
+		 */
+		BOUNDED,
+		/**
+		 * The tasks are run by a fixed number of workers once their dependencies are complete. See
+		 * {@link DataflowScheduler}.
+		 */
+		DATAFLOW
+	}
+
+	/**
+	 * This enum is used to select the threads forked by the tasks of the workflow.
+	 */
+	public enum ThreadType {
+		/**
+		 * Fork a virtual thread per task (default). The virtual threads run on the carrier threads of the JVM, whose
+		 * number is set by the {@code jdk.virtualThreadScheduler.parallelism} system property when the first virtual
+		 * thread starts.
+		 */
+		VIRTUAL,
+		/**
+		 * Fork a platform thread per task. Every task that waits for its dependencies holds an OS thread, so the
+		 * {@link RunnerType#PULL} runner may run out of threads on large workflows: a runner that bounds the number of
+		 * tasks in flight is preferred.
+		 */
+		PLATFORM,
+		/**
+		 * Fork the threads of a factory provided by the caller. See {@link #withThreadFactory(ThreadFactory)}.
+		 */
+		CUSTOM
+	}
+
+	private static final int DEFAULT_HASHLIFE_CACHE_SIZE = 1 << 20;
+	private static final int DEFAULT_HASHLIFE_MAX_STEP = 20;
+	private static final int DEFAULT_MAX_DRIFT = 1;
+	private static final int DEFAULT_FORKJOIN_THRESHOLD = 512;
+
 	private SourceConfig sourceConfig;
 	private SinkConfig sinkConfig;
 	private Integer numIterations;
 	private Integer parallelism;
 	private boolean useWatcher = false;
+	private EngineType engineType = EngineType.DENSE;
+	private RunnerType runnerType = RunnerType.PULL;
+	private ThreadType threadType = ThreadType.VIRTUAL;
+	private ThreadFactory threadFactory;
+	private Integer maxInFlightTasks;
+	private boolean useResultRelease = false;
+	private boolean useFusion = false;
+	private int minStripeWidth = 0;
+	private int maxDrift = DEFAULT_MAX_DRIFT;
+	private int forkJoinThreshold = DEFAULT_FORKJOIN_THRESHOLD;
+	private KernelType kernelType = KernelType.SWAR;
+	private boolean useTiles = false;
+	private Integer tileRows;
+	private Integer tileColumns;
+	private int temporalBlocking = 1;
+	private boolean useBoundaryFirst = false;
+	private boolean useActivityTracking = false;
+	private boolean useCycleDetection = false;
+	private int layerWindow = 0;
+	private int rebalancePeriod = 0;
+	private int hashLifeCacheSize = DEFAULT_HASHLIFE_CACHE_SIZE;
+	private int hashLifeMaxStep = DEFAULT_HASHLIFE_MAX_STEP;
 
 	/**
 	 * Set up source configuration.
@@ -75,6 +211,289 @@ public class GameOfLifeTaskBuilder {
 		return this;
 	}
 
+	/**
+	 * Set up the engine. {@link EngineType#DENSE} is used by default. The kernel, tiles, temporal blocking,
+	 * boundary-first computation and activity tracking only apply to the dense engine.
+	 *
+	 * @param engineType Engine type
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withEngine(EngineType engineType) {
+		this.engineType = engineType;
+		return this;
+	}
+
+	/**
+	 * Set up the memory bound of the {@link EngineType#HASHLIFE} engine. Once the number of canonical quadtree nodes
+	 * exceeds it, the nodes unreachable from the current board are evicted between two jumps.
+	 *
+	 * @param cacheSize Number of nodes, {@code 2^20} by default
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withHashLifeCacheSize(int cacheSize) {
+		this.hashLifeCacheSize = cacheSize;
+		return this;
+	}
+
+	/**
+	 * Set up the largest jump of the {@link EngineType#HASHLIFE} engine: at most {@code 2^maxStep} generations are
+	 * computed at once. Smaller jumps report the progress and collect the cache more often.
+	 *
+	 * @param maxStep Binary logarithm of the number of generations, {@code 20} by default
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withHashLifeMaxStep(int maxStep) {
+		this.hashLifeMaxStep = maxStep;
+		return this;
+	}
+
+	/**
+	 * Set up the kernel used to compute generations. {@link KernelType#SWAR} is used by default,
+	 * {@link KernelType#SCALAR} is the reference implementation.
+	 *
+	 * @param kernelType Kernel type
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withKernel(KernelType kernelType) {
+		this.kernelType = kernelType;
+		return this;
+	}
+
+	/**
+	 * Enable or disable the tiled decomposition. If set, the board is split into a grid of tiles instead of
+	 * full-height stripes, and each tile is computed from its 8 neighbours. Unless
+	 * {@link #withTileShape(int, int) the shape} is set, it is picked automatically so that the number of tiles is
+	 * the parallelism factor and the tiles are as square as possible.
+	 *
+	 * @param flag If set, the board is split into tiles
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder useTiles(boolean flag) {
+		this.useTiles = flag;
+		return this;
+	}
+
+	/**
+	 * Set up the shape of the tile grid and enable the tiled decomposition (see {@link #useTiles(boolean)}). The
+	 * number of tiles overrides the parallelism factor. Rows and columns that would be empty for the board
+	 * dimensions are dropped.
+	 *
+	 * @param rows    Number of tile rows
+	 * @param columns Number of tile columns
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withTileShape(int rows, int columns) {
+		this.useTiles = true;
+		this.tileRows = rows;
+		this.tileColumns = columns;
+		return this;
+	}
+
+	/**
+	 * Set up temporal blocking: each stripe receives halos {@code generations} columns deep from its neighbours and
+	 * advances by {@code generations} generations before the next exchange, so that the number of computation tasks
+	 * is divided by {@code generations}. The redundant computation grows with the depth, so it must not exceed the
+	 * width of the narrowest stripe. Not supported with the tiled decomposition.
+	 *
+	 * @param generations Number of generations computed per exchange, {@code 1} (default) disables temporal blocking
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withTemporalBlocking(int generations) {
+		this.temporalBlocking = generations;
+		return this;
+	}
+
+	/**
+	 * Enable or disable the boundary-first computation. If set, each generation of a stripe is computed by two tasks:
+	 * the first one computes and publishes the border columns, so that the neighbour stripes may start the next
+	 * generation while the second one computes the interior columns. Not supported with the tiled decomposition and
+	 * temporal blocking.
+	 *
+	 * @param flag If set, the border columns are computed first
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder useBoundaryFirst(boolean flag) {
+		this.useBoundaryFirst = flag;
+		return this;
+	}
+
+	/**
+	 * Enable or disable activity tracking (see {@link ActivityTrackingKernel}). If set, the regions of the board whose
+	 * neighbourhood did not change in the last generation are not recomputed. The number of skipped cell updates is
+	 * reported in the watcher summary. Not supported with temporal blocking and boundary-first computation, which
+	 * compute partial chunks.
+	 *
+	 * @param flag If set, stable regions are skipped
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder useActivityTracking(boolean flag) {
+		this.useActivityTracking = flag;
+		return this;
+	}
+
+	/**
+	 * Enable or disable cycle detection (see {@link CycleDetector}). If set, the stripes report a fingerprint of every
+	 * generation, and once the board is found to be a still life or an oscillator, the remaining generations are
+	 * skipped. The detected cycle is reported in the watcher summary. Only supported with plain stripes.
+	 *
+	 * @param flag If set, the computation stops early on periodic boards
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder useCycleDetection(boolean flag) {
+		this.useCycleDetection = flag;
+		return this;
+	}
+
+	/**
+	 * Build the generation layers of the dense engine on demand (see {@link LayeredComputeTask}). The layers are built
+	 * by blocks of {@code window} layers while the previous block is computed, so that the number of tasks alive does
+	 * not depend on the number of iterations. If {@code 0}, all the layers are built upfront (default).
+	 *
+	 * @param window Number of layers built at once
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withLayerWindow(int window) {
+		this.layerWindow = window;
+		return this;
+	}
+
+	/**
+	 * Move the boundaries of the stripes every {@code generations} generations, so that the stripes take the same time
+	 * to compute (see {@link StripeBalancer}). It matters when the activity is concentrated in a part of the board
+	 * and only the active regions are computed, see {@link #useActivityTracking(boolean)}. Every rebalancing waits for
+	 * all the stripes, so the period must be long enough to amortise it. If {@code 0}, the boundaries are fixed
+	 * (default). Only supported by the dense engine with plain stripes, with or without activity tracking.
+	 *
+	 * @param generations Number of generations between two rebalancings
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withRebalancePeriod(int generations) {
+		this.rebalancePeriod = generations;
+		return this;
+	}
+
+	/**
+	 * Set the way the tasks are run. The watcher is not part of the scheduled workflow, it always runs along with it.
+	 *
+	 * @param runner The runner type
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withRunner(RunnerType runner) {
+		this.runnerType = runner;
+		return this;
+	}
+
+	/**
+	 * Set the threads forked by the tasks, the runners and the watcher. {@link ThreadType#VIRTUAL} is used by
+	 * default. The {@link EngineType#FORKJOIN} pool does not use them, its workers are always platform threads. The
+	 * {@link EngineType#BSP} workers are platform threads unless the threads are {@link ThreadType#PLATFORM} or
+	 * {@link ThreadType#CUSTOM}.
+	 *
+	 * @param threadType The thread type
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withThreads(ThreadType threadType) {
+		this.threadType = threadType;
+		return this;
+	}
+
+	/**
+	 * Set the factory of the threads forked by the tasks, the runners and the watcher, and select
+	 * {@link ThreadType#CUSTOM} (see {@link #withThreads(ThreadType)}). The factory may e.g. create the threads in a
+	 * dedicated group or with a given priority. The threads are forked in structured scopes, so they must be started
+	 * by the scope: the factory must not start them itself.
+	 *
+	 * @param threadFactory The thread factory
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withThreadFactory(ThreadFactory threadFactory) {
+		this.threadType = ThreadType.CUSTOM;
+		this.threadFactory = threadFactory;
+		return this;
+	}
+
+	/**
+	 * Set the maximal number of tasks in flight of the {@link RunnerType#BOUNDED} runner. Defaults to twice the
+	 * parallelism factor. The peak number of tasks in flight is reported in the watcher summary.
+	 *
+	 * @param capacity Maximal number of tasks in flight
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withMaxInFlightTasks(int capacity) {
+		this.maxInFlightTasks = capacity;
+		return this;
+	}
+
+	/**
+	 * Enable or disable the release of the intermediate results (see {@link TaskUtils#releaseResults}). If set, every
+	 * task drops its result as soon as all the tasks that depend on it have completed, instead of keeping it until
+	 * the task itself is unreachable. It matters when the tasks are held by a runner, see {@link RunnerType}. Not
+	 * supported with a {@link #withLayerWindow(int) layer window}: the layers are not held once computed anyway.
+	 *
+	 * @param flag If set, the results are released once consumed
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder useResultRelease(boolean flag) {
+		this.useResultRelease = flag;
+		return this;
+	}
+
+	/**
+	 * Enable or disable the fusion of the single-consumer chains (see {@link TaskUtils#fuseChains}). If set, a task
+	 * that is the only consumer of a dependency runs it in its own thread instead of forking it, e.g. the export task
+	 * runs one of the last chunks, and every other generation of a single stripe runs in the thread of the next one.
+	 * The {@link RunnerType#BOUNDED} and {@link RunnerType#DATAFLOW} runners run every task themselves, so the fusion
+	 * only applies to the other runners.
+	 *
+	 * @param flag If set, the single-consumer chains are fused
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder useFusion(boolean flag) {
+		this.useFusion = flag;
+		return this;
+	}
+
+	/**
+	 * Set the minimal width of the stripes. If the board is too narrow for the parallelism factor, the adjacent
+	 * stripes are merged, so that the tasks are not too fine-grained: the number of stripes is reduced to
+	 * {@code width / minWidth}, at least {@code 1}. If {@code 0}, the number of stripes is the parallelism factor
+	 * (default). Not applied to the tiles, whose shape is configured separately.
+	 *
+	 * @param minWidth Minimal number of columns per stripe
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withMinStripeWidth(int minWidth) {
+		this.minStripeWidth = minWidth;
+		return this;
+	}
+
+	/**
+	 * Set the maximal number of generations a stripe may compute ahead of its neighbours with the
+	 * {@link EngineType#ACTORS} engine. The stripes exchange halos {@code generations} columns deep every
+	 * {@code generations} generations and compute the halos of their neighbours in between, like
+	 * {@link #withTemporalBlocking(int) temporal blocking}, so the drift must not exceed the width of the narrowest
+	 * stripe. Defaults to {@value #DEFAULT_MAX_DRIFT}: the stripes exchange their border columns every generation.
+	 *
+	 * @param generations Number of generations computed between two exchanges of halos
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withMaxDrift(int generations) {
+		this.maxDrift = generations;
+		return this;
+	}
+
+	/**
+	 * Set the size of the smallest regions of the {@link EngineType#FORKJOIN} engine: a region is not split further
+	 * once it has at most {@code words} packed words. Defaults to {@value #DEFAULT_FORKJOIN_THRESHOLD}.
+	 *
+	 * @param words Number of 64-cell words below which a region is computed sequentially
+	 * @return This builder
+	 */
+	public GameOfLifeTaskBuilder withForkJoinThreshold(int words) {
+		this.forkJoinThreshold = words;
+		return this;
+	}
+
 	/**
 	 * Enable or disable watcher (see {@link GameOfLifeWatcher}).
 	 *
@@ -108,22 +527,140 @@ public class GameOfLifeTaskBuilder {
 			throw new IllegalArgumentException("Parallelism factor must be positive");
 		}
 
-		ATask<Board> retrieveTask = ARetrieveTask.build(this.sourceConfig);
+		if (this.maxInFlightTasks != null && this.maxInFlightTasks <= 0) {
+			throw new IllegalArgumentException("Maximal number of tasks in flight must be positive");
+		}
+
+		if (this.minStripeWidth < 0) {
+			throw new IllegalArgumentException("Minimal stripe width must not be negative");
+		}
+
+		if (this.temporalBlocking <= 0) {
+			throw new IllegalArgumentException("Temporal blocking depth must be positive");
+		}
+
+		if (this.temporalBlocking > 1 && this.useTiles) {
+			throw new IllegalArgumentException("Temporal blocking is not supported with tiles");
+		}
+
+		if (this.useBoundaryFirst && (this.useTiles || this.temporalBlocking > 1)) {
+			throw new IllegalArgumentException("Boundary-first computation is only supported with plain stripes");
+		}
+
+		if (this.useActivityTracking && (this.useBoundaryFirst || this.temporalBlocking > 1)) {
+			throw new IllegalArgumentException("Activity tracking requires the whole chunks to be computed");
+		}
+
+		if (this.layerWindow < 0) {
+			throw new IllegalArgumentException("Layer window must not be negative");
+		}
+
+		if (this.useResultRelease && this.layerWindow > 0) {
+			throw new IllegalArgumentException(
+					"Result release is not supported with a layer window, whose layers are built after the graph scan");
+		}
 
-		List<ATask<BoardChunk>> lastGeneration = buildSplitTasks(retrieveTask, this.parallelism);
-		for (int i = 0; i < numIterations; ++i) {
-			lastGeneration = buildNextGeneration(lastGeneration);
+		if (this.useCycleDetection && (this.useTiles || this.temporalBlocking > 1 || this.useBoundaryFirst)) {
+			throw new IllegalArgumentException("Cycle detection is only supported with plain stripes");
 		}
 
-		ATask<Void> exportTask = AExportTask.build(this.sinkConfig, lastGeneration);
+		if (this.rebalancePeriod < 0) {
+			throw new IllegalArgumentException("Rebalance period must not be negative");
+		}
+
+		if (this.rebalancePeriod > 0
+				&& (this.useTiles || this.temporalBlocking > 1 || this.useBoundaryFirst || this.useCycleDetection)) {
+			throw new IllegalArgumentException("Stripe rebalancing is only supported with plain stripes");
+		}
+
+		Objects.requireNonNull(this.engineType, "Engine is not configured");
+		boolean isPlainStripes =
+				!this.useTiles && this.temporalBlocking == 1 && !this.useBoundaryFirst && !this.useActivityTracking;
+		if (this.engineType != EngineType.DENSE && !isPlainStripes) {
+			throw new IllegalArgumentException("The " + this.engineType + " engine only supports plain stripes");
+		}
+
+		if (this.engineType != EngineType.DENSE && this.useCycleDetection) {
+			throw new IllegalArgumentException("Cycle detection is only supported by the dense engine");
+		}
+
+		if (this.engineType != EngineType.DENSE && this.layerWindow > 0) {
+			throw new IllegalArgumentException("Layer window is only supported by the dense engine");
+		}
+
+		if (this.engineType != EngineType.DENSE && this.rebalancePeriod > 0) {
+			throw new IllegalArgumentException("Stripe rebalancing is only supported by the dense engine");
+		}
+
+		if (this.engineType == EngineType.ACTORS && this.maxDrift <= 0) {
+			throw new IllegalArgumentException("Maximal drift must be positive");
+		}
+
+		if (this.engineType == EngineType.FORKJOIN && this.forkJoinThreshold <= 0) {
+			throw new IllegalArgumentException("Fork/join threshold must be positive");
+		}
+
+		if (this.engineType == EngineType.HASHLIFE) {
+			if (this.hashLifeCacheSize <= 0) {
+				throw new IllegalArgumentException("HashLife cache size must be positive");
+			}
+			if (this.hashLifeMaxStep < 0 || this.hashLifeMaxStep >= Integer.SIZE - 1) {
+				throw new IllegalArgumentException("HashLife max step must be in [0; " + (Integer.SIZE - 1) + ")");
+			}
+		}
+
+		ARetrieveTask retrieveTask = ARetrieveTask.build(this.sourceConfig);
+
+		// The number of chunks: the tiles override the requested parallelism, the narrow stripes are merged
+		int parallelism = this.parallelism;
+		int[] tileShape = null;
+		if (this.useTiles) {
+			tileShape = tileShape(retrieveTask.getWidth(), retrieveTask.getHeight(), parallelism);
+			parallelism = tileShape[0] * tileShape[1];
+		} else if (this.minStripeWidth > 0 && this.engineType != EngineType.HASHLIFE) {
+			parallelism = Math.max(1, Math.min(parallelism, retrieveTask.getWidth() / this.minStripeWidth));
+		}
+
+		ATask<Void> exportTask =
+				this.engineType == EngineType.SPARSE
+						? buildSparse(retrieveTask, parallelism)
+						: AExportTask.build(this.sinkConfig,
+								chunkEngine(tileShape).build(retrieveTask, numIterations, parallelism));
+		// The runners hold every task of the graph, they must not be counted as consumers
+		if (useFusion) {
+			TaskUtils.fuseChains(exportTask);
+		}
+		if (useResultRelease) {
+			TaskUtils.releaseResults(exportTask);
+		}
+
+		ThreadFactory factory =
+				switch (Objects.requireNonNull(this.threadType, "Threads are not configured")) {
+					case VIRTUAL -> Thread.ofVirtual().factory();
+					case PLATFORM -> Thread.ofPlatform().factory();
+					case CUSTOM -> Objects.requireNonNull(this.threadFactory, "Thread factory is not configured");
+				};
+
+		final GameOfLifeContext ctx = new GameOfLifeContext(parallelism, numIterations, factory);
+		ATask<Void> runnerTask =
+				switch (Objects.requireNonNull(this.runnerType, "Runner is not configured")) {
+					case PULL -> exportTask;
+					case TOPOLOGICAL -> TaskUtils.buildRunner(exportTask, factory);
+					case BOUNDED -> {
+						int capacity = this.maxInFlightTasks != null ? this.maxInFlightTasks : 2 * parallelism;
+						BoundedRunner<Void> runner = TaskUtils.buildRunner(exportTask, capacity, factory);
+						ctx.setRunner(runner);
+						yield runner;
+					}
+					case DATAFLOW -> TaskUtils.buildScheduler(exportTask, parallelism, factory);
+				};
 
 		final ATask<Void> resultTask =
 				useWatcher
-						? TaskUtils.withWatchers(exportTask, new GameOfLifeWatcher())
-						: exportTask;
+						? TaskUtils.withWatchers(factory, runnerTask, new GameOfLifeWatcher())
+						: runnerTask;
 
-		final GameOfLifeContext ctx = new GameOfLifeContext(parallelism, numIterations);
-		return new ATask<>() {
+		ATask<Void> contextTask = new ATask<>() {
 			@Dependency
 			private ATask<Void> task = resultTask;
 
@@ -132,16 +669,231 @@ public class GameOfLifeTaskBuilder {
 				return GameOfLifeContext.withContext(ctx).call(task);
 			}
 		};
+		return contextTask;
+	}
+
+	/**
+	 * Get the engine that computes the packed columns of the board.
+	 *
+	 * @param tileShape The shape of the tile grid {@code [rows, columns]}, or {@code null} to split the board into
+	 *                  stripes
+	 * @return The engine of the configured type
+	 */
+	private ChunkEngine chunkEngine(int[] tileShape) {
+		return switch (this.engineType) {
+			case DENSE -> (retrieveTask, iterations, parallelism) ->
+					buildDense(retrieveTask, iterations, parallelism, tileShape);
+			case HASHLIFE -> this::buildHashLife;
+			case ACTORS -> this::buildActors;
+			case BSP -> this::buildBulkSynchronous;
+			case FORKJOIN -> this::buildForkJoin;
+			case SPARSE -> throw new IllegalStateException("The sparse engine does not produce packed chunks");
+		};
+	}
+
+	private ATask<Void> buildSparse(ARetrieveTask retrieveTask, int parallelism) {
+		ATask<SparseBoard> sparseRetrieveTask = retrieveTask.sparse();
+
+		List<ATask<SparseChunk>> lastGeneration = new ArrayList<>(parallelism);
+		for (int i = 0; i < parallelism; ++i) {
+			lastGeneration.add(new SparseSplitTask(sparseRetrieveTask, i, parallelism));
+		}
+
+		for (int iteration = 0; iteration < numIterations; ++iteration) {
+			List<ATask<SparseChunk>> nextGeneration = new ArrayList<>(lastGeneration.size());
+			for (int i = 0; i < lastGeneration.size(); ++i) {
+				ATask<SparseChunk> prev = i > 0 ? lastGeneration.get(i - 1) : null;
+				ATask<SparseChunk> same = lastGeneration.get(i);
+				ATask<SparseChunk> next = i < lastGeneration.size() - 1 ? lastGeneration.get(i + 1) : null;
+				nextGeneration.add(new SparseComputeTask(prev, same, next, i));
+			}
+			lastGeneration = nextGeneration;
+		}
+
+		return AExportTask.buildSparse(this.sinkConfig, new SparseMergeTask(lastGeneration));
+	}
+
+	private List<ATask<BoardChunk>> buildDense(ARetrieveTask retrieveTask, int iterations, int parallelism,
+			int[] tileShape) {
+		AKernel kernel = AKernel.build(Objects.requireNonNull(this.kernelType, "Kernel is not configured"));
+		if (this.useActivityTracking) {
+			kernel = new ActivityTrackingKernel(kernel);
+		}
+
+		// The layers may be built lazily, they must not see the builder being reconfigured after build()
+		AKernel layerKernel = kernel;
+		int temporalBlocking = this.temporalBlocking;
+		int rebalancePeriod = this.rebalancePeriod;
+		List<ATask<BoardChunk>> lastGeneration;
+		LayerFactory factory;
+		int layers;
+		if (tileShape != null) {
+			int rows = tileShape[0];
+			int columns = tileShape[1];
+
+			lastGeneration = buildSplitTasks(retrieveTask, rows, columns);
+			factory = (last, layer) -> buildNextTileGeneration(last, rows, columns, layerKernel);
+			layers = iterations;
+		} else {
+			checkHaloDepth(retrieveTask.getWidth(), parallelism, temporalBlocking, "Temporal blocking depth");
+
+			lastGeneration = buildSplitTasks(retrieveTask, parallelism);
+			if (useBoundaryFirst) {
+				factory = (last, layer) -> buildNextBoundaryFirstGeneration(last, layerKernel);
+				layers = iterations;
+			} else if (useCycleDetection) {
+				CycleDetector cycleDetector = new CycleDetector(parallelism, iterations);
+				factory = (last, layer) -> buildNextDetectingGeneration(last, layerKernel, cycleDetector, layer + 1);
+				layers = iterations;
+			} else {
+				int blocks = iterations / temporalBlocking;
+				int remainder = iterations % temporalBlocking;
+				factory = (last, layer) ->
+						buildNextGeneration(last, layerKernel, layer < blocks ? temporalBlocking : remainder);
+				layers = blocks + (remainder != 0 ? 1 : 0);
+			}
+
+			if (rebalancePeriod > 0) {
+				// The layers are single generations, the rebalancing is inserted before some of them
+				StripeBalancer balancer = new StripeBalancer(parallelism);
+				LayerFactory generationFactory = factory;
+				factory = (last, layer) -> generationFactory.build(
+						layer > 0 && layer % rebalancePeriod == 0 ? RebalanceTask.build(last, balancer) : last, layer);
+			}
+		}
+
+		if (layerWindow > 0) {
+			lastGeneration = LayeredComputeTask.build(lastGeneration, layers, layerWindow, factory);
+		} else {
+			for (int layer = 0; layer < layers; ++layer) {
+				lastGeneration = factory.build(lastGeneration, layer);
+			}
+		}
+
+		return lastGeneration;
+	}
+
+	private List<ATask<BoardChunk>> buildHashLife(ARetrieveTask retrieveTask, int iterations, int parallelism) {
+		return List.of(new HashLifeTask(retrieveTask, iterations, hashLifeMaxStep, parallelism, hashLifeCacheSize));
+	}
+
+	private List<ATask<BoardChunk>> buildActors(ARetrieveTask retrieveTask, int iterations, int parallelism) {
+		AKernel kernel = AKernel.build(Objects.requireNonNull(this.kernelType, "Kernel is not configured"));
+		checkHaloDepth(retrieveTask.getWidth(), parallelism, this.maxDrift, "Maximal drift");
+		return StripeActorsTask.build(buildSplitTasks(retrieveTask, parallelism), iterations, maxDrift, kernel);
+	}
+
+	private List<ATask<BoardChunk>> buildBulkSynchronous(ARetrieveTask retrieveTask, int iterations,
+			int parallelism) {
+		AKernel kernel = AKernel.build(Objects.requireNonNull(this.kernelType, "Kernel is not configured"));
+		// The baseline stays on platform workers, unless another factory is configured
+		ThreadFactory workerFactory =
+				this.threadType == ThreadType.CUSTOM
+						? Objects.requireNonNull(this.threadFactory, "Thread factory is not configured")
+						: Thread.ofPlatform().factory();
+		return List.of(new BulkSynchronousTask(retrieveTask, iterations, parallelism, kernel, workerFactory));
+	}
+
+	private List<ATask<BoardChunk>> buildForkJoin(ARetrieveTask retrieveTask, int iterations, int parallelism) {
+		AKernel kernel = AKernel.build(Objects.requireNonNull(this.kernelType, "Kernel is not configured"));
+		return List.of(new RecursiveComputeTask(retrieveTask, iterations, parallelism, forkJoinThreshold, kernel));
+	}
+
+	/**
+	 * Check that the halos of the given depth fit in the narrowest stripe.
+	 */
+	private static void checkHaloDepth(int width, int parallelism, int depth, String name) {
+		if (depth == 1) {
+			return;
+		}
+
+		int stripeWidth = SplitTask.stripeWidth(width, parallelism);
+		int narrowestWidth = width - (parallelism - 1) * stripeWidth;
+		if (parallelism > 1 && depth > narrowestWidth) {
+			throw new IllegalArgumentException(
+					name + " " + depth + " exceeds the narrowest stripe width " + Math.max(narrowestWidth, 0));
+		}
+	}
+
+	private List<ATask<BoardChunk>> buildNextGeneration(List<ATask<BoardChunk>> lastGeneration, AKernel kernel,
+			int generations) {
+		ComputeTask[] tasks = new ComputeTask[lastGeneration.size()];
+		List<ATask<Halo>> halos =
+				lastGeneration.stream()
+						.<ATask<Halo>>map(chunkTask -> new HaloTask(chunkTask, generations))
+						.toList();
+
+		for (int i = 0; i < tasks.length; ++i) {
+			ATask<Halo> prev = i > 0 ? halos.get(i - 1) : null;
+			ATask<BoardChunk> same = lastGeneration.get(i);
+			ATask<Halo> next = i < tasks.length - 1 ? halos.get(i + 1) : null;
+			tasks[i] = new ComputeTask(prev, same, next, i, kernel, generations);
+		}
+
+		return List.of(tasks);
 	}
 
-	private List<ATask<BoardChunk>> buildNextGeneration(List<ATask<BoardChunk>> lastGeneration) {
+	private List<ATask<BoardChunk>> buildNextDetectingGeneration(List<ATask<BoardChunk>> lastGeneration,
+			AKernel kernel, CycleDetector cycleDetector, int generation) {
 		ComputeTask[] tasks = new ComputeTask[lastGeneration.size()];
+		List<ATask<Halo>> halos = lastGeneration.stream().map(GameOfLifeTaskBuilder::haloTask).toList();
 
 		for (int i = 0; i < tasks.length; ++i) {
-			ATask<BoardChunk> prev = i > 0 ? lastGeneration.get(i - 1) : null;
+			ATask<Halo> prev = i > 0 ? halos.get(i - 1) : null;
 			ATask<BoardChunk> same = lastGeneration.get(i);
-			ATask<BoardChunk> next = i < tasks.length - 1 ? lastGeneration.get(i + 1) : null;
-			tasks[i] = new ComputeTask(prev, same, next, i);
+			ATask<Halo> next = i < tasks.length - 1 ? halos.get(i + 1) : null;
+			tasks[i] = new ComputeTask(prev, same, next, i, kernel, cycleDetector, generation);
+		}
+
+		return List.of(tasks);
+	}
+
+	private List<ATask<BoardChunk>> buildNextBoundaryFirstGeneration(List<ATask<BoardChunk>> lastGeneration,
+			AKernel kernel) {
+		InteriorComputeTask[] tasks = new InteriorComputeTask[lastGeneration.size()];
+		List<ATask<Halo>> halos = lastGeneration.stream().map(GameOfLifeTaskBuilder::haloTask).toList();
+
+		for (int i = 0; i < tasks.length; ++i) {
+			ATask<Halo> prev = i > 0 ? halos.get(i - 1) : null;
+			ATask<BoardChunk> same = lastGeneration.get(i);
+			ATask<Halo> next = i < tasks.length - 1 ? halos.get(i + 1) : null;
+			ATask<Halo> border = new BorderComputeTask(prev, same, next, kernel);
+			tasks[i] = new InteriorComputeTask(border, same, i, kernel);
+		}
+
+		return List.of(tasks);
+	}
+
+	/**
+	 * Get the task that publishes the halo of a chunk: the border task of a boundary-first computation, or a new
+	 * {@link HaloTask} otherwise.
+	 */
+	private static ATask<Halo> haloTask(ATask<BoardChunk> chunkTask) {
+		if (chunkTask instanceof InteriorComputeTask interiorTask) {
+			return interiorTask.getBorderTask();
+		}
+		return new HaloTask(chunkTask);
+	}
+
+	private List<ATask<BoardChunk>> buildNextTileGeneration(List<ATask<BoardChunk>> lastGeneration, int rows,
+			int columns, AKernel kernel) {
+		TileComputeTask[] tasks = new TileComputeTask[lastGeneration.size()];
+
+		for (int row = 0; row < rows; ++row) {
+			for (int column = 0; column < columns; ++column) {
+				List<ATask<BoardChunk>> tileTasks = new ArrayList<>(9);
+				for (int dy = -1; dy <= 1; ++dy) {
+					for (int dx = -1; dx <= 1; ++dx) {
+						int y = row + dy;
+						int x = column + dx;
+						boolean isInside = y >= 0 && y < rows && x >= 0 && x < columns;
+						tileTasks.add(isInside ? lastGeneration.get(y * columns + x) : null);
+					}
+				}
+
+				int idx = row * columns + column;
+				tasks[idx] = new TileComputeTask(tileTasks, idx, kernel);
+			}
 		}
 
 		return List.of(tasks);
@@ -156,4 +908,61 @@ public class GameOfLifeTaskBuilder {
 
 		return List.of(tasks);
 	}
+
+	private List<ATask<BoardChunk>> buildSplitTasks(ATask<Board> retrieveTask, int rows, int columns) {
+		SplitTask[] tasks = new SplitTask[rows * columns];
+
+		for (int row = 0; row < rows; ++row) {
+			for (int column = 0; column < columns; ++column) {
+				tasks[row * columns + column] = new SplitTask(retrieveTask, column, columns, row, rows);
+			}
+		}
+
+		return List.of(tasks);
+	}
+
+	/**
+	 * Get the shape of the tile grid, either configured or the one that minimizes the tile perimeter for the
+	 * parallelism factor.
+	 *
+	 * @return {@code [rows, columns]}
+	 */
+	private int[] tileShape(int width, int height, int parallelism) {
+		if (this.tileRows != null) {
+			if (this.tileRows <= 0 || this.tileColumns <= 0) {
+				throw new IllegalArgumentException("Tile shape must be positive");
+			}
+			return new int[]{usedRows(height, this.tileRows), usedColumns(width, this.tileColumns)};
+		}
+
+		int[] best = null;
+		int bestPerimeter = Integer.MAX_VALUE;
+		for (int rows = 1; rows <= parallelism; ++rows) {
+			if (parallelism % rows != 0) {
+				continue;
+			}
+			int columns = parallelism / rows;
+			if (usedRows(height, rows) != rows || usedColumns(width, columns) != columns) {
+				continue;
+			}
+
+			int perimeter = SplitTask.stripeWidth(width, columns) + SplitTask.tileHeight(height, rows);
+			if (perimeter < bestPerimeter) {
+				best = new int[]{rows, columns};
+				bestPerimeter = perimeter;
+			}
+		}
+
+		return best != null ? best : new int[]{1, usedColumns(width, parallelism)};
+	}
+
+	private static int usedRows(int height, int rows) {
+		int tileHeight = SplitTask.tileHeight(height, rows);
+		return (height + tileHeight - 1) / tileHeight;
+	}
+
+	private static int usedColumns(int width, int columns) {
+		int stripeWidth = SplitTask.stripeWidth(width, columns);
+		return (width + stripeWidth - 1) / stripeWidth;
+	}
 }
@@ -0,0 +1,88 @@
+package com.activeviam.experiments.gameoflife.biz;
+
+/**
+ * This class moves the boundaries of the stripes, so that the stripes take the same time to compute. The cost of a
+ * column is estimated from the time the computation tasks of its stripe have reported to the
+ * {@link GameOfLifeContext} since the last rebalancing, assuming that the columns of a stripe cost the same.
+ * <p>
+ * Every boundary is moved halfway to the position that would balance the last costs, so that a transient activity
+ * does not make the boundaries oscillate, and the boundaries are not moved at all while the slowest stripe is within
+ * {@link #TOLERANCE} of the average.
+ * <p>
+ * The rebalancing steps are ordered by the workflow (see {@code RebalanceTask}), so the class is not thread-safe.
+ */
+public class StripeBalancer {
+
+	/**
+	 * The relative imbalance below which the boundaries are kept.
+	 */
+	public static final double TOLERANCE = 0.1;
+
+	private final long[] lastComputeTimes;
+
+	/**
+	 * Constructs a new balancer.
+	 *
+	 * @param parallelism Number of stripes
+	 */
+	public StripeBalancer(int parallelism) {
+		this.lastComputeTimes = new long[parallelism];
+	}
+
+	/**
+	 * Compute the new boundaries of the stripes from the time spent since the previous call.
+	 *
+	 * @param boundaries The current boundaries: the stripe {@code i} covers the columns
+	 *                   {@code [boundaries[i]; boundaries[i + 1])}
+	 * @return The new boundaries, or {@code boundaries} itself if they are kept
+	 */
+	public int[] balance(int[] boundaries) {
+		GameOfLifeContext ctx = GameOfLifeContext.getContext();
+
+		int stripes = lastComputeTimes.length;
+		long[] costs = new long[stripes];
+		long total = 0;
+		long max = 0;
+		for (int i = 0; i < stripes; ++i) {
+			long computeTime = ctx.getComputeTime(i);
+			costs[i] = computeTime - lastComputeTimes[i];
+			lastComputeTimes[i] = computeTime;
+
+			total += costs[i];
+			max = Math.max(max, costs[i]);
+		}
+
+		int width = boundaries[stripes];
+		if (stripes == 1 || width < stripes || total == 0 || max <= (1 + TOLERANCE) * total / stripes) {
+			return boundaries;
+		}
+
+		int[] result = new int[stripes + 1];
+		result[stripes] = width;
+
+		// Walk the cumulative cost, which is linear within each stripe
+		int stripe = 0;
+		double cost = 0;
+		for (int k = 1; k < stripes; ++k) {
+			double target = (double) total * k / stripes;
+			while (stripe < stripes - 1 && cost + costs[stripe] < target) {
+				cost += costs[stripe++];
+			}
+
+			int stripeWidth = boundaries[stripe + 1] - boundaries[stripe];
+			double position =
+					boundaries[stripe] + (costs[stripe] > 0 ? (target - cost) / costs[stripe] * stripeWidth : 0);
+			result[k] = (int) Math.round((boundaries[k] + position) / 2);
+		}
+
+		// Every stripe keeps at least a column
+		for (int k = 1; k < stripes; ++k) {
+			result[k] = Math.max(result[k], result[k - 1] + 1);
+		}
+		for (int k = stripes - 1; k > 0; --k) {
+			result[k] = Math.min(result[k], result[k + 1] - 1);
+		}
+
+		return result;
+	}
+}
@@ -37,6 +37,16 @@ public class Utils {
 	}
 
 
+	/**
+	 * Check whether a task is either absent or done, see {@link ATask#isDone()}.
+	 *
+	 * @param task The task, may be null
+	 * @return {@code true} if the task is null or its result is available
+	 */
+	public static boolean isDoneOrNull(ATask<?> task) {
+		return task == null || task.isDone();
+	}
+
 	/**
 	 * Forks the {@code task} using {@link StructuredTaskScope#fork} method if the task is not null, otherwise return
 	 * a completed {@link Future} with value {@code defaultValue}.
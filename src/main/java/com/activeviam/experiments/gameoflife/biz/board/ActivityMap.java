@@ -0,0 +1,92 @@
+package com.activeviam.experiments.gameoflife.biz.board;
+
+import java.util.Arrays;
+
+/**
+ * This class records which blocks of a {@link BoardChunk} changed in the last generation. A block is one packed word
+ * of a column ({@link Bits#WORD_SIZE} cells). The flags of a column are packed into a bit set: the bit {@code w % 64}
+ * of the word {@code w / 64} stands for the word {@code w} of the column.
+ */
+public class ActivityMap {
+
+	private final int words;
+	private final long[][] changed;
+	private long skippedCells;
+
+	/**
+	 * Constructs a new map where no block is changed.
+	 *
+	 * @param stripeWidth Number of columns of the chunk
+	 * @param words       Number of words per column of the chunk
+	 */
+	public ActivityMap(int stripeWidth, int words) {
+		this.words = words;
+		this.changed = new long[stripeWidth][Bits.words(words)];
+	}
+
+	/**
+	 * Check whether the map may be used for a chunk.
+	 *
+	 * @param chunk The chunk
+	 * @return {@code true} if the map has the block layout of the chunk
+	 */
+	public boolean fits(BoardChunk chunk) {
+		return changed.length == chunk.getStripeWidth() && words == chunk.getWordsPerColumn();
+	}
+
+	/**
+	 * Mark all the blocks as unchanged.
+	 */
+	public void clear() {
+		for (long[] column : changed) {
+			Arrays.fill(column, 0);
+		}
+	}
+
+	/**
+	 * Mark a block as changed.
+	 *
+	 * @param x Column index
+	 * @param w Word index
+	 */
+	public void setChanged(int x, int w) {
+		changed[x][w / Bits.WORD_SIZE] |= 1L << (w % Bits.WORD_SIZE);
+	}
+
+	/**
+	 * Get the blocks whose neighbourhood changed, i.e. the blocks whose next generation may differ from the current
+	 * one. The blocks outside the chunk are supposed to be unchanged.
+	 *
+	 * @param x Column index
+	 * @param i Index of the word of the bit set
+	 * @return The word {@code i} of the bit set of the unstable blocks of the column
+	 */
+	public long getUnstable(int x, int i) {
+		long current = getColumnMask(x - 1, i) | getColumnMask(x, i) | getColumnMask(x + 1, i);
+		long previous = getColumnMask(x - 1, i - 1) | getColumnMask(x, i - 1) | getColumnMask(x + 1, i - 1);
+		long next = getColumnMask(x - 1, i + 1) | getColumnMask(x, i + 1) | getColumnMask(x + 1, i + 1);
+
+		return current | (current << 1) | (current >>> 1)
+				| (previous >>> (Bits.WORD_SIZE - 1)) | (next << (Bits.WORD_SIZE - 1));
+	}
+
+	private long getColumnMask(int x, int i) {
+		if (x < 0 || x >= changed.length || i < 0 || i >= changed[x].length) {
+			return 0;
+		}
+		return changed[x][i];
+	}
+
+	/**
+	 * Get the number of cells which were not recomputed in the last generation.
+	 *
+	 * @return Number of skipped cells
+	 */
+	public long getSkippedCells() {
+		return skippedCells;
+	}
+
+	public void setSkippedCells(long skippedCells) {
+		this.skippedCells = skippedCells;
+	}
+}
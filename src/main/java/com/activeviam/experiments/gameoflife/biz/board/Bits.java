@@ -0,0 +1,62 @@
+package com.activeviam.experiments.gameoflife.biz.board;
+
+/**
+ * Helper functions for the packed cell representation. A column of {@code height} cells is stored in
+ * {@link #words(int) words(height)} {@code long} words: the cell {@code y} is the bit {@code y % 64} of the word
+ * {@code y / 64}. The bits of the last word that lie beyond the column height are always zero.
+ */
+public class Bits {
+
+	/**
+	 * Number of cells packed into one word.
+	 */
+	public static final int WORD_SIZE = Long.SIZE;
+
+	/**
+	 * Get the number of words required to store a column.
+	 *
+	 * @param height Column height
+	 * @return Number of words
+	 */
+	public static int words(int height) {
+		return (height + WORD_SIZE - 1) / WORD_SIZE;
+	}
+
+	/**
+	 * Get the mask of the bits of the last word that correspond to existing cells.
+	 *
+	 * @param height Column height
+	 * @return The mask of meaningful bits of the last word
+	 */
+	public static long lastWordMask(int height) {
+		int tail = height % WORD_SIZE;
+		return tail == 0 ? -1L : (1L << tail) - 1;
+	}
+
+	/**
+	 * Get the state of the cell {@code y} of a packed column.
+	 *
+	 * @param column Packed column
+	 * @param y      Row index
+	 * @return {@code true} if the cell is alive, {@code false} otherwise
+	 */
+	public static boolean get(long[] column, int y) {
+		return (column[y / WORD_SIZE] & (1L << (y % WORD_SIZE))) != 0;
+	}
+
+	/**
+	 * Set the state of the cell {@code y} of a packed column.
+	 *
+	 * @param column  Packed column
+	 * @param y       Row index
+	 * @param isAlive New state of the cell
+	 */
+	public static void set(long[] column, int y, boolean isAlive) {
+		long bit = 1L << (y % WORD_SIZE);
+		if (isAlive) {
+			column[y / WORD_SIZE] |= bit;
+		} else {
+			column[y / WORD_SIZE] &= ~bit;
+		}
+	}
+}
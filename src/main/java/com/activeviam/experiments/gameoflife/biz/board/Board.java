@@ -7,11 +7,52 @@ import java.util.Arrays;
  *
  * @param width  Field width
  * @param height Field height
- * @param cells  boolean matrix; {@code cells[i][j]} is {@code true} if the cell is alive and {@code false}
- *               otherwise
+ * @param cells  packed columns; {@code cells[i]} holds the column {@code i} in the format described in
+ *               {@link Bits}
  */
-public record Board(int width, int height, boolean[][] cells) {
+public record Board(int width, int height, long[][] cells) {
 
+	/**
+	 * Construct an empty board.
+	 *
+	 * @param width  Field width
+	 * @param height Field height
+	 */
+	public Board(int width, int height) {
+		this(width, height, new long[width][Bits.words(height)]);
+	}
+
+
+	/**
+	 * Assemble a board from its chunks (stripes or tiles).
+	 *
+	 * @param chunks The chunks that cover the whole board
+	 * @return A new board, the columns of full-height chunks are shared with the board
+	 */
+	public static Board merge(BoardChunk[] chunks) {
+		int width = chunks[0].getWidth();
+		int height = chunks[0].getHeight();
+
+		long[][] data = new long[width][];
+
+		for (BoardChunk chunk : chunks) {
+			if (chunk.getStripeHeight() == height) {
+				System.arraycopy(chunk.getData(), 0, data, chunk.getBeginWidth(), chunk.getStripeWidth());
+				continue;
+			}
+
+			for (int x = 0; x < chunk.getStripeWidth(); ++x) {
+				long[] column = data[chunk.getBeginWidth() + x];
+				if (column == null) {
+					column = new long[Bits.words(height)];
+					data[chunk.getBeginWidth() + x] = column;
+				}
+				System.arraycopy(chunk.getColumn(x), 0, column, chunk.getBeginHeight() / Bits.WORD_SIZE,
+						chunk.getWordsPerColumn());
+			}
+		}
+		return new Board(width, height, data);
+	}
 
 	/**
 	 * Extract a vertical stripe {@code [beginWidth; endWidth)} of the board.
@@ -21,10 +62,34 @@ public record Board(int width, int height, boolean[][] cells) {
 	 * @return A {@link BoardChunk} that holds selected columns
 	 */
 	public BoardChunk getChunk(int beginWidth, int endWidth) {
-		boolean[][] data = Arrays.copyOfRange(cells, beginWidth, endWidth);
+		long[][] data = Arrays.copyOfRange(cells, beginWidth, endWidth);
 		return new BoardChunk(width, height, beginWidth, endWidth, data);
 	}
 
+	/**
+	 * Extract a tile {@code [beginWidth; endWidth) x [beginHeight; endHeight)} of the board.
+	 *
+	 * @param beginWidth  Begin of the range of columns to be extracted (inclusive)
+	 * @param endWidth    End of the range of columns to be extracted (exclusive)
+	 * @param beginHeight Begin of the range of rows to be extracted (inclusive), must be a multiple of
+	 *                    {@link Bits#WORD_SIZE}
+	 * @param endHeight   End of the range of rows to be extracted (exclusive), must be a multiple of
+	 *                    {@link Bits#WORD_SIZE} unless it is the board height
+	 * @return A {@link BoardChunk} that holds selected cells
+	 */
+	public BoardChunk getChunk(int beginWidth, int endWidth, int beginHeight, int endHeight) {
+		if (beginHeight == 0 && endHeight == height) {
+			return getChunk(beginWidth, endWidth);
+		}
+
+		long[][] data = new long[endWidth - beginWidth][];
+		for (int x = beginWidth; x < endWidth; ++x) {
+			data[x - beginWidth] =
+					Arrays.copyOfRange(cells[x], beginHeight / Bits.WORD_SIZE, Bits.words(endHeight));
+		}
+		return new BoardChunk(width, height, beginWidth, endWidth, beginHeight, endHeight, data);
+	}
+
 	/**
 	 * Get the state of a cell on position {@code (x, y)}. All the cells outside the board bounds are supposed to be
 	 * dead.
@@ -40,6 +105,6 @@ public record Board(int width, int height, boolean[][] cells) {
 		if (y < 0 || y >= height) {
 			return false;
 		}
-		return cells[x][y];
+		return Bits.get(cells[x], y);
 	}
 }
@@ -3,7 +3,9 @@ package com.activeviam.experiments.gameoflife.biz.board;
 import com.activeviam.experiments.gameoflife.util.IntrusiveList;
 
 /**
- * This class represents a stripe of a {@link Board}. Several chunks may form a ring (used for memory
+ * This class represents a stripe or a tile of a {@link Board}. A tile covers the rows
+ * {@code [beginHeight; endHeight)}, where {@code beginHeight} is a multiple of {@link Bits#WORD_SIZE}, so that the
+ * columns of a tile are word ranges of the board columns. Several chunks may form a ring (used for memory
  * optimization).
  */
 public class BoardChunk implements IntrusiveList<BoardChunk> {
@@ -12,25 +14,65 @@ public class BoardChunk implements IntrusiveList<BoardChunk> {
 	private final int height;
 	private final int beginWidth;
 	private final int endWidth;
-	private final boolean[][] data;
+	private final int beginHeight;
+	private final int endHeight;
+	private final long[][] data;
+	private ActivityMap activity;
 
 	/**
-	 * Construct a new chunk with existing data.
+	 * Construct a new tile with existing data.
 	 *
-	 * @param width      Field width
-	 * @param height     Field height
-	 * @param beginWidth First column included in this chunk
-	 * @param endWidth   The column after the last one included in this chunk
-	 * @param data       boolean matrix that represents the chunk
+	 * @param width       Field width
+	 * @param height      Field height
+	 * @param beginWidth  First column included in this chunk
+	 * @param endWidth    The column after the last one included in this chunk
+	 * @param beginHeight First row included in this chunk, must be a multiple of {@link Bits#WORD_SIZE}
+	 * @param endHeight   The row after the last one included in this chunk
+	 * @param data        packed columns that represent the chunk, see {@link Bits}
 	 */
-	public BoardChunk(int width, int height, int beginWidth, int endWidth, boolean[][] data) {
+	public BoardChunk(int width, int height, int beginWidth, int endWidth, int beginHeight, int endHeight,
+			long[][] data) {
+		if (beginHeight % Bits.WORD_SIZE != 0) {
+			throw new IllegalArgumentException("Tile must begin at a word boundary, got row " + beginHeight);
+		}
+
 		this.width = width;
 		this.height = height;
 		this.beginWidth = beginWidth;
 		this.endWidth = endWidth;
+		this.beginHeight = beginHeight;
+		this.endHeight = endHeight;
 		this.data = data;
 	}
 
+	/**
+	 * Construct a new chunk with existing data.
+	 *
+	 * @param width      Field width
+	 * @param height     Field height
+	 * @param beginWidth First column included in this chunk
+	 * @param endWidth   The column after the last one included in this chunk
+	 * @param data       packed columns that represent the chunk, see {@link Bits}
+	 */
+	public BoardChunk(int width, int height, int beginWidth, int endWidth, long[][] data) {
+		this(width, height, beginWidth, endWidth, 0, height, data);
+	}
+
+	/**
+	 * Construct new tile and allocate data.
+	 *
+	 * @param width       Field width
+	 * @param height      Field height
+	 * @param beginWidth  First column included in this chunk
+	 * @param endWidth    The column after the last one included in this chunk
+	 * @param beginHeight First row included in this chunk, must be a multiple of {@link Bits#WORD_SIZE}
+	 * @param endHeight   The row after the last one included in this chunk
+	 */
+	public BoardChunk(int width, int height, int beginWidth, int endWidth, int beginHeight, int endHeight) {
+		this(width, height, beginWidth, endWidth, beginHeight, endHeight,
+				new long[endWidth - beginWidth][Bits.words(endHeight - beginHeight)]);
+	}
+
 	/**
 	 * Construct new chunk and allocate data.
 	 *
@@ -40,7 +82,7 @@ public class BoardChunk implements IntrusiveList<BoardChunk> {
 	 * @param endWidth   The column after the last one included in this chunk
 	 */
 	public BoardChunk(int width, int height, int beginWidth, int endWidth) {
-		this(width, height, beginWidth, endWidth, new boolean[endWidth - beginWidth][height]);
+		this(width, height, beginWidth, endWidth, 0, height);
 	}
 
 	/**
@@ -60,7 +102,8 @@ public class BoardChunk implements IntrusiveList<BoardChunk> {
 		BoardChunk afterLast = firstChunk.next == null ? firstChunk : firstChunk.next;
 		chunks[0] = firstChunk;
 		for (int i = 1; i < ringSize; ++i) {
-			chunks[i] = new BoardChunk(firstChunk.width, firstChunk.height, firstChunk.beginWidth, firstChunk.endWidth);
+			chunks[i] = new BoardChunk(firstChunk.width, firstChunk.height, firstChunk.beginWidth, firstChunk.endWidth,
+					firstChunk.beginHeight, firstChunk.endHeight);
 			chunks[i - 1].next = chunks[i];
 		}
 		chunks[ringSize - 1].next = afterLast;
@@ -84,17 +127,60 @@ public class BoardChunk implements IntrusiveList<BoardChunk> {
 		return endWidth;
 	}
 
-	public boolean[][] getData() {
+	public int getBeginHeight() {
+		return beginHeight;
+	}
+
+	public int getEndHeight() {
+		return endHeight;
+	}
+
+	public long[][] getData() {
 		return data;
 	}
 
+	/**
+	 * Get the blocks that changed when the chunk was computed.
+	 *
+	 * @return The activity map, or null if unknown
+	 */
+	public ActivityMap getActivity() {
+		return activity;
+	}
+
+	public void setActivity(ActivityMap activity) {
+		this.activity = activity;
+	}
+
+	/**
+	 * Get a packed column of the chunk.
+	 *
+	 * @param x Column index relative to the stripe beginning
+	 * @return The packed column, see {@link Bits}
+	 */
+	public long[] getColumn(int x) {
+		return data[x];
+	}
+
+	public int getWordsPerColumn() {
+		return Bits.words(getStripeHeight());
+	}
+
 	public int getStripeWidth() {
 		return endWidth - beginWidth;
 	}
 
+	public int getStripeHeight() {
+		return endHeight - beginHeight;
+	}
+
+	public boolean isEmpty() {
+		return getStripeWidth() == 0 || getStripeHeight() == 0;
+	}
+
 	/**
-	 * Get the state of a cell on position {@code (x, y)} relative to the stripe beginning. All the cells outside the
-	 * stripe bounds are supposed to be dead.
+	 * Get the state of a cell on position {@code (x, y)} relative to the chunk beginning. All the cells outside the
+	 * chunk bounds are supposed to be dead.
 	 *
 	 * @param x Column index
 	 * @param y Row index
@@ -104,11 +190,11 @@ public class BoardChunk implements IntrusiveList<BoardChunk> {
 		if (x < 0 || x >= getStripeWidth()) {
 			return false;
 		}
-		if (y < 0 || y >= height) {
+		if (y < 0 || y >= getStripeHeight()) {
 			return false;
 		}
 
-		return data[x][y];
+		return Bits.get(data[x], y);
 	}
 
 	/**
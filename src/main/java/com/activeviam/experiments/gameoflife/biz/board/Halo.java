@@ -0,0 +1,67 @@
+package com.activeviam.experiments.gameoflife.biz.board;
+
+/**
+ * This class represents the border columns of a {@link BoardChunk} published for the neighbour chunks. The columns
+ * are copied, so the halo stays valid when the chunk buffer is reused.
+ *
+ * @param first Copies of the first (leftmost) packed columns of the chunk, from left to right
+ * @param last  Copies of the last (rightmost) packed columns of the chunk, from left to right
+ */
+public record Halo(long[][] first, long[][] last) {
+
+	/**
+	 * Copy the border columns of a chunk.
+	 *
+	 * @param chunk The chunk
+	 * @param depth Number of columns to be copied on each side. If the chunk is narrower, all its columns are
+	 *              copied.
+	 * @return The halo of the chunk
+	 */
+	public static Halo of(BoardChunk chunk, int depth) {
+		int stripeWidth = chunk.isEmpty() ? 0 : chunk.getStripeWidth();
+		int columns = Math.min(depth, stripeWidth);
+
+		long[][] first = new long[columns][];
+		long[][] last = new long[columns][];
+		for (int i = 0; i < columns; ++i) {
+			first[i] = chunk.getColumn(i).clone();
+		}
+		for (int i = 0; i < columns; ++i) {
+			int x = stripeWidth - columns + i;
+			last[i] = x < columns ? first[x] : chunk.getColumn(x).clone();
+		}
+		return new Halo(first, last);
+	}
+
+	/**
+	 * Copy the first and the last columns of a chunk.
+	 *
+	 * @param chunk The chunk
+	 * @return The halo of the chunk
+	 */
+	public static Halo of(BoardChunk chunk) {
+		return of(chunk, 1);
+	}
+
+	public int depth() {
+		return first.length;
+	}
+
+	/**
+	 * Get the leftmost column of the chunk.
+	 *
+	 * @return The packed column, or null if the chunk is empty
+	 */
+	public long[] firstColumn() {
+		return first.length > 0 ? first[0] : null;
+	}
+
+	/**
+	 * Get the rightmost column of the chunk.
+	 *
+	 * @return The packed column, or null if the chunk is empty
+	 */
+	public long[] lastColumn() {
+		return last.length > 0 ? last[last.length - 1] : null;
+	}
+}
@@ -0,0 +1,108 @@
+package com.activeviam.experiments.gameoflife.biz.board;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a Game Of Life field that only stores its live cells. A cell {@code (x, y)} is encoded as
+ * the {@link #key(int, int) key} {@code x << 32 | y}, so that the sorted keys list the cells column by column.
+ *
+ * @param width  Field width
+ * @param height Field height
+ * @param cells  Sorted keys of the live cells
+ */
+public record SparseBoard(int width, int height, long[] cells) {
+
+	/**
+	 * Encode the position of a cell.
+	 *
+	 * @param x Column index, must not be negative
+	 * @param y Row index, must not be negative
+	 * @return The key of the cell
+	 */
+	public static long key(int x, int y) {
+		return (long) x << Integer.SIZE | y;
+	}
+
+	public static int x(long key) {
+		return (int) (key >>> Integer.SIZE);
+	}
+
+	public static int y(long key) {
+		return (int) key;
+	}
+
+	/**
+	 * Find the first cell of a column.
+	 *
+	 * @param cells Sorted keys
+	 * @param x     Column index
+	 * @return The index of the first key of the column {@code x} or of the next columns, {@code cells.length} if
+	 * there is none
+	 */
+	public static int columnStart(long[] cells, int x) {
+		if (x <= 0) {
+			return 0;
+		}
+
+		int idx = Arrays.binarySearch(cells, key(x, 0));
+		return idx >= 0 ? idx : -idx - 1;
+	}
+
+	/**
+	 * Collect the live cells of a board.
+	 *
+	 * @param board The board
+	 * @return A sparse board with the same cells
+	 */
+	public static SparseBoard of(Board board) {
+		int count = 0;
+		for (long[] column : board.cells()) {
+			for (long word : column) {
+				count += Long.bitCount(word);
+			}
+		}
+
+		long[] cells = new long[count];
+		int idx = 0;
+		for (int x = 0; x < board.width(); ++x) {
+			long[] column = board.cells()[x];
+			for (int w = 0; w < column.length; ++w) {
+				for (long word = column[w]; word != 0; word &= word - 1) {
+					cells[idx++] = key(x, w * Bits.WORD_SIZE + Long.numberOfTrailingZeros(word));
+				}
+			}
+		}
+		return new SparseBoard(board.width(), board.height(), cells);
+	}
+
+	/**
+	 * Convert the board to the dense representation.
+	 *
+	 * @return A new board with the same cells
+	 */
+	public Board toBoard() {
+		Board board = new Board(width, height);
+		for (long cell : cells) {
+			Bits.set(board.cells()[x(cell)], y(cell), true);
+		}
+		return board;
+	}
+
+	/**
+	 * Get the state of a cell on position {@code (x, y)}. All the cells outside the board bounds are supposed to be
+	 * dead.
+	 *
+	 * @param x Column index
+	 * @param y Row index
+	 * @return {@code true} if the cell is alive, {@code false} otherwise
+	 */
+	public boolean getAt(int x, int y) {
+		if (x < 0 || x >= width) {
+			return false;
+		}
+		if (y < 0 || y >= height) {
+			return false;
+		}
+		return Arrays.binarySearch(cells, key(x, y)) >= 0;
+	}
+}
@@ -0,0 +1,29 @@
+package com.activeviam.experiments.gameoflife.biz.board;
+
+/**
+ * This class represents a vertical stripe {@code [beginWidth; endWidth)} of a {@link SparseBoard}.
+ *
+ * @param width      Field width
+ * @param height     Field height
+ * @param beginWidth First column included in this chunk
+ * @param endWidth   The column after the last one included in this chunk
+ * @param cells      Sorted keys of the live cells of the chunk, see {@link SparseBoard#key(int, int)}
+ */
+public record SparseChunk(int width, int height, int beginWidth, int endWidth, long[] cells) {
+
+	/**
+	 * Extract a vertical stripe of a board.
+	 *
+	 * @param board      The board
+	 * @param beginWidth Begin of the range of columns to be extracted (inclusive)
+	 * @param endWidth   End of the range of columns to be extracted (exclusive)
+	 * @return A chunk that holds the live cells of the selected columns
+	 */
+	public static SparseChunk of(SparseBoard board, int beginWidth, int endWidth) {
+		int from = SparseBoard.columnStart(board.cells(), beginWidth);
+		int to = SparseBoard.columnStart(board.cells(), endWidth);
+		long[] cells = new long[to - from];
+		System.arraycopy(board.cells(), from, cells, 0, cells.length);
+		return new SparseChunk(board.width(), board.height(), beginWidth, endWidth, cells);
+	}
+}
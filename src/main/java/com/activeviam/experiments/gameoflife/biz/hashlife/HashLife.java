@@ -0,0 +1,348 @@
+package com.activeviam.experiments.gameoflife.biz.hashlife;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
+import com.activeviam.experiments.gameoflife.biz.board.Board;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * An implementation of the HashLife algorithm. The board is stored as a canonicalised quadtree of {@link Node nodes},
+ * and the evolution of every node is memoised, so that the repeated patterns (in space and in time) are only computed
+ * once and a node of level {@code k} can be advanced by {@code 2^(k - 2)} generations at once.
+ * <p>
+ * The board is represented by a <em>region</em>: a node whose north-west corner is the cell {@code (0, 0)} of the
+ * board, the cells of the region outside the board are {@link Node#WALL walls}.
+ * <p>
+ * The memory is bounded by {@link #collect(Node)}: once the number of canonical nodes exceeds the cache size, the
+ * nodes that are unreachable from the current region are evicted together with the memoised results pointing to
+ * them.
+ */
+public class HashLife {
+
+	private static final int MAX_LEVEL = 64;
+
+	private final int forkDepth;
+	private final int cacheSize;
+	private final Node[] walls = new Node[MAX_LEVEL];
+	private ConcurrentHashMap<Node, Node> nodes = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Node, Node> partialResults = new ConcurrentHashMap<>();
+	private int partialStep = -1;
+	private int forkLevel;
+
+	/**
+	 * Constructs a new instance with an empty cache.
+	 *
+	 * @param parallelism Number of subtrees to be evaluated in parallel
+	 * @param cacheSize   Number of canonical nodes above which the unreachable nodes are evicted
+	 */
+	public HashLife(int parallelism, int cacheSize) {
+		int depth = 0;
+		for (long subtrees = 1; subtrees < parallelism; subtrees *= 9) {
+			++depth;
+		}
+		this.forkDepth = depth;
+		this.cacheSize = cacheSize;
+
+		walls[0] = Node.WALL;
+		for (int level = 1; level < MAX_LEVEL; ++level) {
+			Node wall = walls[level - 1];
+			walls[level] = node(wall, wall, wall, wall);
+		}
+	}
+
+	/**
+	 * Get the level of the regions used for a board: the smallest level that covers the board.
+	 *
+	 * @param width  Board width
+	 * @param height Board height
+	 * @return Region level
+	 */
+	public static int regionLevel(int width, int height) {
+		int size = Math.max(Math.max(width, height), 2);
+		return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+	}
+
+	/**
+	 * Build the region of a board.
+	 *
+	 * @param board The board
+	 * @return Region node of level {@link #regionLevel}
+	 */
+	public Node fromBoard(Board board) {
+		return build(board, regionLevel(board.width(), board.height()), 0, 0);
+	}
+
+	private Node build(Board board, int level, int x0, int y0) {
+		if (x0 >= board.width() || y0 >= board.height()) {
+			return walls[level];
+		}
+		if (level == 0) {
+			return Bits.get(board.cells()[x0], y0) ? Node.ALIVE : Node.DEAD;
+		}
+
+		int half = 1 << (level - 1);
+		return node(
+				build(board, level - 1, x0, y0), build(board, level - 1, x0 + half, y0),
+				build(board, level - 1, x0, y0 + half), build(board, level - 1, x0 + half, y0 + half));
+	}
+
+	/**
+	 * Build the board of a region.
+	 *
+	 * @param region Region node
+	 * @param width  Board width
+	 * @param height Board height
+	 * @return A new board
+	 */
+	public Board toBoard(Node region, int width, int height) {
+		Board board = new Board(width, height);
+		fill(board, region, 0, 0);
+		return board;
+	}
+
+	private void fill(Board board, Node node, int x0, int y0) {
+		if (node.getPopulation() == 0) {
+			return;
+		}
+		if (node.level == 0) {
+			Bits.set(board.cells()[x0], y0, true);
+			return;
+		}
+
+		int half = 1 << (node.level - 1);
+		fill(board, node.nw, x0, y0);
+		fill(board, node.ne, x0 + half, y0);
+		fill(board, node.sw, x0, y0 + half);
+		fill(board, node.se, x0 + half, y0 + half);
+	}
+
+	/**
+	 * Advance a region by {@code 2^step} generations. The region is embedded into a root node surrounded by walls that
+	 * is large enough to make the whole step at once.
+	 *
+	 * @param region Region node
+	 * @param step   Binary logarithm of the number of generations, at most {@code 62}
+	 * @return The region node of the same level, {@code 2^step} generations later
+	 * @throws InterruptedException if interrupted while waiting for forked subtrees
+	 * @throws ExecutionException   if a forked subtree evaluation failed
+	 */
+	public Node advance(Node region, int step) throws InterruptedException, ExecutionException {
+		int rootLevel = Math.max(region.level + 1, step + 2);
+		if (step != partialStep) {
+			partialResults.clear();
+			partialStep = step;
+		}
+		forkLevel = rootLevel - forkDepth + 1;
+
+		// The root centre is the region padded with walls, the result of the root covers the root centre
+		Node centre = region;
+		while (centre.level < rootLevel - 1) {
+			Node wall = walls[centre.level];
+			centre = node(centre, wall, wall, wall);
+		}
+		Node wall = walls[rootLevel - 2];
+		Node root = node(
+				node(wall, wall, wall, centre.nw), node(wall, wall, centre.ne, wall),
+				node(wall, centre.sw, wall, wall), node(centre.se, wall, wall, wall));
+
+		Node result = successor(root, step);
+		while (result.level > region.level) {
+			result = result.nw;
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the centre of a node {@code 2^step} generations later.
+	 *
+	 * @param node A node of level {@code k >= 2}
+	 * @param step Binary logarithm of the number of generations, at most {@code k - 2}
+	 * @return The centre of the node, a node of level {@code k - 1}
+	 */
+	private Node successor(Node node, int step) throws InterruptedException, ExecutionException {
+		if (node.population == 0) {
+			// Dead cells and walls are stable
+			return centre(node);
+		}
+		if (node.level == 2) {
+			return evolve(node);
+		}
+
+		boolean isFullStep = step == node.level - 2;
+		Node cached = isFullStep ? node.result : partialResults.get(node);
+		if (cached != null) {
+			return cached;
+		}
+
+		Node n00 = node.nw;
+		Node n01 = node(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw);
+		Node n02 = node.ne;
+		Node n10 = node(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne);
+		Node n11 = centre(node);
+		Node n12 = node(node.ne.sw, node.ne.se, node.se.nw, node.se.ne);
+		Node n20 = node.sw;
+		Node n21 = node(node.sw.ne, node.se.nw, node.sw.se, node.se.sw);
+		Node n22 = node.se;
+		Node[] parts = new Node[]{n00, n01, n02, n10, n11, n12, n20, n21, n22};
+
+		// The first half of the step: either 2^(k - 3) generations or none
+		Node[] r;
+		if (isFullStep) {
+			r = successors(parts, node.level - 3, node.level >= forkLevel);
+		} else {
+			r = new Node[parts.length];
+			for (int i = 0; i < parts.length; ++i) {
+				r[i] = centre(parts[i]);
+			}
+		}
+
+		// The second half of the step
+		Node[] quadrants = new Node[]{
+				node(r[0], r[1], r[3], r[4]), node(r[1], r[2], r[4], r[5]),
+				node(r[3], r[4], r[6], r[7]), node(r[4], r[5], r[7], r[8])};
+		Node[] s = successors(quadrants, isFullStep ? node.level - 3 : step, node.level >= forkLevel);
+
+		Node result = node(s[0], s[1], s[2], s[3]);
+		if (isFullStep) {
+			node.result = result;
+		} else {
+			partialResults.put(node, result);
+		}
+		return result;
+	}
+
+	private Node[] successors(Node[] parts, int step, boolean isParallel)
+			throws InterruptedException, ExecutionException {
+		Node[] results = new Node[parts.length];
+		if (!isParallel) {
+			for (int i = 0; i < parts.length; ++i) {
+				results[i] = successor(parts[i], step);
+			}
+			return results;
+		}
+
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			List<Future<Node>> futures = new ArrayList<>(parts.length);
+			for (Node part : parts) {
+				futures.add(scope.fork(() -> successor(part, step)));
+			}
+
+			scope.join().throwIfFailed();
+
+			for (int i = 0; i < parts.length; ++i) {
+				results[i] = futures.get(i).resultNow();
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Compute the next generation of the centre of a 4x4 node.
+	 *
+	 * @param node A node of level {@code 2}
+	 * @return The centre of the node one generation later
+	 */
+	private Node evolve(Node node) {
+		Node[][] cells = new Node[4][4];
+		for (int x = 0; x < 4; ++x) {
+			for (int y = 0; y < 4; ++y) {
+				Node quadrant = x < 2 ? (y < 2 ? node.nw : node.sw) : (y < 2 ? node.ne : node.se);
+				cells[x][y] = x % 2 == 0 ? (y % 2 == 0 ? quadrant.nw : quadrant.sw)
+						: (y % 2 == 0 ? quadrant.ne : quadrant.se);
+			}
+		}
+
+		Node[] next = new Node[4];
+		for (int x = 1; x <= 2; ++x) {
+			for (int y = 1; y <= 2; ++y) {
+				Node cell = cells[x][y];
+				if (cell != Node.WALL) {
+					int neighbours = 0;
+					for (int dx = -1; dx <= 1; ++dx) {
+						for (int dy = -1; dy <= 1; ++dy) {
+							if ((dx != 0 || dy != 0) && cells[x + dx][y + dy] == Node.ALIVE) {
+								++neighbours;
+							}
+						}
+					}
+					cell = neighbours == 3 || (neighbours == 2 && cell == Node.ALIVE) ? Node.ALIVE : Node.DEAD;
+				}
+				next[(y - 1) * 2 + (x - 1)] = cell;
+			}
+		}
+		return node(next[0], next[1], next[2], next[3]);
+	}
+
+	private Node centre(Node node) {
+		return node(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+	}
+
+	/**
+	 * Get the canonical node with the given quadrants.
+	 *
+	 * @param nw North-west quadrant
+	 * @param ne North-east quadrant
+	 * @param sw South-west quadrant
+	 * @param se South-east quadrant
+	 * @return The canonical node
+	 */
+	Node node(Node nw, Node ne, Node sw, Node se) {
+		Node candidate = new Node(nw, ne, sw, se);
+		Node existing = nodes.putIfAbsent(candidate, candidate);
+		return existing == null ? candidate : existing;
+	}
+
+	/**
+	 * Get the number of canonical nodes.
+	 *
+	 * @return Number of nodes in the cache
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Evict the nodes that are unreachable from the region if the cache is full. The memoised results are only kept if
+	 * they are reachable too. Must not be called concurrently with {@link #advance}.
+	 *
+	 * @param region The region to be kept
+	 * @return {@code true} if the cache has been collected
+	 */
+	public boolean collect(Node region) {
+		if (nodes.size() <= cacheSize) {
+			return false;
+		}
+
+		ConcurrentHashMap<Node, Node> reachable = new ConcurrentHashMap<>();
+		Deque<Node> queue = new ArrayDeque<>();
+		queue.add(region);
+		queue.add(walls[MAX_LEVEL - 1]);
+		while (!queue.isEmpty()) {
+			Node node = queue.poll();
+			if (node.level == 0 || reachable.putIfAbsent(node, node) != null) {
+				continue;
+			}
+			queue.add(node.nw);
+			queue.add(node.ne);
+			queue.add(node.sw);
+			queue.add(node.se);
+		}
+
+		for (Node node : reachable.keySet()) {
+			Node result = node.result;
+			if (result != null && reachable.get(result) != result) {
+				node.result = null;
+			}
+		}
+
+		nodes = reachable;
+		partialResults.clear();
+		return true;
+	}
+}
@@ -0,0 +1,105 @@
+package com.activeviam.experiments.gameoflife.biz.hashlife;
+
+/**
+ * A node of the HashLife quadtree. A node of level {@code k} represents a square of {@code 2^k x 2^k} cells, it is
+ * either a leaf (level {@code 0}, a single cell) or the union of four nodes of level {@code k - 1}. The nodes are
+ * canonicalised by {@link HashLife}, so that two nodes with the same children are the same object: the children are
+ * compared by identity.
+ * <p>
+ * A cell is either dead, alive or a wall. Walls never change and are never counted as live neighbours, they surround
+ * the board so that its cells evolve as if the cells outside the board were dead.
+ */
+public final class Node {
+
+	/**
+	 * A dead cell.
+	 */
+	public static final Node DEAD = new Node();
+	/**
+	 * A live cell.
+	 */
+	public static final Node ALIVE = new Node();
+	/**
+	 * A cell outside the board.
+	 */
+	public static final Node WALL = new Node();
+
+	final int level;
+	final Node nw;
+	final Node ne;
+	final Node sw;
+	final Node se;
+	final long population;
+	private final int hash;
+
+	/**
+	 * The centre of the node {@code 2^(level - 2)} generations later, see {@link HashLife#successor}.
+	 */
+	volatile Node result;
+
+	private Node() {
+		this.level = 0;
+		this.nw = null;
+		this.ne = null;
+		this.sw = null;
+		this.se = null;
+		this.population = 0;
+		this.hash = System.identityHashCode(this);
+	}
+
+	/**
+	 * Constructs a new node. Must only be called by {@link HashLife#node} which canonicalises it.
+	 *
+	 * @param nw North-west quadrant (lowest columns, lowest rows)
+	 * @param ne North-east quadrant (highest columns, lowest rows)
+	 * @param sw South-west quadrant (lowest columns, highest rows)
+	 * @param se South-east quadrant (highest columns, highest rows)
+	 */
+	Node(Node nw, Node ne, Node sw, Node se) {
+		this.level = nw.level + 1;
+		this.nw = nw;
+		this.ne = ne;
+		this.sw = sw;
+		this.se = se;
+		this.population = population(nw) + population(ne) + population(sw) + population(se);
+
+		int h = System.identityHashCode(nw);
+		h = 31 * h + System.identityHashCode(ne);
+		h = 31 * h + System.identityHashCode(sw);
+		h = 31 * h + System.identityHashCode(se);
+		this.hash = h;
+	}
+
+	private static long population(Node node) {
+		return node == ALIVE ? 1 : node.population;
+	}
+
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Get the number of live cells of the node.
+	 *
+	 * @return Number of live cells
+	 */
+	public long getPopulation() {
+		return population(this);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Node other) || level == 0 || other.level == 0) {
+			return false;
+		}
+		return nw == other.nw && ne == other.ne && sw == other.sw && se == other.se;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+}
@@ -0,0 +1,114 @@
+package com.activeviam.experiments.gameoflife.biz.kernel;
+
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+
+/**
+ * This class represents an abstract Game Of Life kernel, i.e. the code that computes the next generation of a chunk.
+ */
+public abstract class AKernel {
+
+	/**
+	 * This enum is used to select the kernel implementation.
+	 */
+	public enum KernelType {
+		/**
+		 * Compute the cells one by one. See {@link ScalarKernel}.
+		 */
+		SCALAR,
+		/**
+		 * Compute 64 cells at once using bitwise operations on packed words. See {@link SwarKernel}.
+		 */
+		SWAR,
+		/**
+		 * Apply the {@link #SWAR} logic to several words at once using the Vector API. Falls back to {@link #SWAR}
+		 * if the vector species is not supported or the {@code jdk.incubator.vector} module is not available. See
+		 * {@link VectorKernel}.
+		 */
+		VECTOR,
+		/**
+		 * Compute 2x2 blocks of cells using a precomputed table. See {@link LookupKernel}.
+		 */
+		LOOKUP
+	}
+
+	/**
+	 * Build a kernel.
+	 *
+	 * @param type Kernel type
+	 * @return A kernel instance
+	 */
+	public static AKernel build(KernelType type) {
+		return switch (type) {
+			case SCALAR -> new ScalarKernel();
+			case SWAR -> new SwarKernel();
+			case VECTOR -> buildVectorKernel();
+			case LOOKUP -> new LookupKernel();
+		};
+	}
+
+	private static AKernel buildVectorKernel() {
+		try {
+			if (VectorKernel.isSupported()) {
+				return new VectorKernel();
+			}
+		} catch (LinkageError e) {
+			// jdk.incubator.vector is not available, falling back
+		}
+		return new SwarKernel();
+	}
+
+	/**
+	 * Compute the next generation of the chunk.
+	 *
+	 * @param target        The chunk to be filled with the next generation, must have the same dimensions as
+	 *                      {@link Neighbourhood#getSame() neighbourhood.getSame()}
+	 * @param neighbourhood The previous generation of the chunk and its neighbour columns
+	 */
+	public void fill(BoardChunk target, Neighbourhood neighbourhood) {
+		fill(target, neighbourhood, 0, target.getStripeWidth());
+	}
+
+	/**
+	 * Compute the next generation of the columns {@code [fromX; toX)} of the chunk. Other columns of the target are
+	 * left untouched.
+	 *
+	 * @param target        The chunk to be filled with the next generation, must have the same dimensions as
+	 *                      {@link Neighbourhood#getSame() neighbourhood.getSame()}
+	 * @param neighbourhood The previous generation of the chunk and its neighbour columns
+	 * @param fromX         First column to be computed (inclusive)
+	 * @param toX           Last column to be computed (exclusive)
+	 */
+	public void fill(BoardChunk target, Neighbourhood neighbourhood, int fromX, int toX) {
+		fill(target, neighbourhood, fromX, toX, 0, target.getWordsPerColumn());
+	}
+
+	/**
+	 * Compute the next generation of the words {@code [fromWord; toWord)} of the columns {@code [fromX; toX)} of the
+	 * chunk. Other words of the target are left untouched.
+	 *
+	 * @param target        The chunk to be filled with the next generation, must have the same dimensions as
+	 *                      {@link Neighbourhood#getSame() neighbourhood.getSame()}
+	 * @param neighbourhood The previous generation of the chunk and its neighbour columns
+	 * @param fromX         First column to be computed (inclusive)
+	 * @param toX           Last column to be computed (exclusive)
+	 * @param fromWord      First word of each column to be computed (inclusive)
+	 * @param toWord        Last word of each column to be computed (exclusive)
+	 */
+	public abstract void fill(BoardChunk target, Neighbourhood neighbourhood, int fromX, int toX, int fromWord,
+			int toWord);
+
+	/**
+	 * Apply the Game Of Life rule to a cell.
+	 *
+	 * @param isAlive    The current state of the cell
+	 * @param neighbours The number of alive neighbours
+	 * @return The next state of the cell
+	 */
+	protected static boolean decide(boolean isAlive, int neighbours) {
+		if (isAlive) {
+			return neighbours == 2 || neighbours == 3;
+		} else {
+			return neighbours == 3;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.activeviam.experiments.gameoflife.biz.kernel;
+
+import com.activeviam.experiments.gameoflife.biz.board.ActivityMap;
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import java.util.Arrays;
+
+/**
+ * A kernel that skips the stable regions of a chunk and delegates the computation of the other regions to another
+ * kernel. The changed words are recorded in the {@link ActivityMap activity map} of every computed chunk.
+ * <p>
+ * The chunks form a ring of two: the target chunk holds the generation that precedes the one of the neighbourhood.
+ * If a word and its neighbour words did not change in the last generation, its next generation is the same as the
+ * current one, which is also the value that the target already holds, so the word is left untouched. The words on
+ * the chunk borders depend on the neighbour chunks, whose activity is unknown, so they are always computed.
+ */
+public class ActivityTrackingKernel extends AKernel {
+
+	/**
+	 * Number of columns filled at once. Wider groups skip fewer words but call the delegate kernel less often.
+	 */
+	private static final int GROUP_WIDTH = 8;
+
+	private final AKernel delegate;
+
+	/**
+	 * Constructs a new kernel.
+	 *
+	 * @param delegate The kernel used to compute the changed regions
+	 */
+	public ActivityTrackingKernel(AKernel delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void fill(BoardChunk target, Neighbourhood neighbourhood) {
+		BoardChunk same = neighbourhood.getSame();
+		int stripeWidth = target.getStripeWidth();
+		int words = target.getWordsPerColumn();
+
+		ActivityMap previous = same.getActivity();
+		ActivityMap next = target.getActivity();
+		if (next == null || next == previous || !next.fits(target)) {
+			next = new ActivityMap(stripeWidth, words);
+		} else {
+			next.clear();
+		}
+
+		// The columns are filled by groups, the words to be computed in a group are the union of the words to be
+		// computed in every column
+		long skippedWords = 0;
+		long[] group = new long[Bits.words(words)];
+		long[] unstable = new long[group.length];
+		for (int groupFrom = 0; groupFrom < stripeWidth; groupFrom += GROUP_WIDTH) {
+			int groupTo = Math.min(groupFrom + GROUP_WIDTH, stripeWidth);
+
+			Arrays.fill(group, 0);
+			for (int x = groupFrom; x < groupTo; ++x) {
+				loadUnstable(previous, x, stripeWidth, words, unstable);
+				for (int i = 0; i < group.length; ++i) {
+					group[i] |= unstable[i];
+				}
+			}
+			for (int i = 0; i < group.length; ++i) {
+				skippedWords += (long) (groupTo - groupFrom) * Long.bitCount(~group[i] & wordSetMask(i, words));
+			}
+
+			fillGroup(target, neighbourhood, next, groupFrom, groupTo, group);
+		}
+
+		// The last word is never skipped, so all the skipped words are full
+		next.setSkippedCells(skippedWords * Bits.WORD_SIZE);
+		target.setActivity(next);
+	}
+
+	@Override
+	public void fill(BoardChunk target, Neighbourhood neighbourhood, int fromX, int toX, int fromWord,
+			int toWord) {
+		// A partial fill does not maintain the activity of the whole chunk
+		delegate.fill(target, neighbourhood, fromX, toX, fromWord, toWord);
+		target.setActivity(null);
+	}
+
+	/**
+	 * Get the words of a column to be computed: the unstable ones and the ones on the chunk borders.
+	 */
+	private static void loadUnstable(ActivityMap previous, int x, int stripeWidth, int words, long[] unstable) {
+		boolean isBorder = previous == null || x == 0 || x == stripeWidth - 1;
+		for (int i = 0; i < unstable.length; ++i) {
+			unstable[i] = isBorder ? -1L : previous.getUnstable(x, i);
+		}
+		unstable[0] |= 1L;
+		unstable[unstable.length - 1] |= 1L << ((words - 1) % Bits.WORD_SIZE);
+		unstable[unstable.length - 1] &= Bits.lastWordMask(words);
+	}
+
+	private static long wordSetMask(int i, int words) {
+		return i == Bits.words(words) - 1 ? Bits.lastWordMask(words) : -1L;
+	}
+
+	private void fillGroup(BoardChunk target, Neighbourhood neighbourhood, ActivityMap next, int fromX, int toX,
+			long[] unstable) {
+		for (int i = 0; i < unstable.length; ++i) {
+			long bits = unstable[i];
+			// Compute the runs of consecutive unstable words
+			while (bits != 0) {
+				int from = Long.numberOfTrailingZeros(bits);
+				int to = from + Long.numberOfTrailingZeros(~(bits >>> from));
+				fillWords(target, neighbourhood, next, fromX, toX, i * Bits.WORD_SIZE + from, i * Bits.WORD_SIZE + to);
+				bits &= to < Bits.WORD_SIZE ? -1L << to : 0;
+			}
+		}
+	}
+
+	private void fillWords(BoardChunk target, Neighbourhood neighbourhood, ActivityMap next, int fromX, int toX,
+			int fromWord, int toWord) {
+		delegate.fill(target, neighbourhood, fromX, toX, fromWord, toWord);
+
+		for (int x = fromX; x < toX; ++x) {
+			long[] column = target.getColumn(x);
+			long[] sameColumn = neighbourhood.getSame().getColumn(x);
+			for (int w = fromWord; w < toWord; ++w) {
+				if (column[w] != sameColumn[w]) {
+					next.setChanged(x, w);
+				}
+			}
+		}
+	}
+}
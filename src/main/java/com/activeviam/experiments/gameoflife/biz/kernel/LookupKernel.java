@@ -0,0 +1,126 @@
+package com.activeviam.experiments.gameoflife.biz.kernel;
+
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+
+/**
+ * A kernel that computes 2x2 blocks of cells at once. The next state of a block depends only on the 4x4 block
+ * around it, so all the 2^16 possible cases are precomputed in a table that is shared by all the kernel instances
+ * (64 KB, fits into the L2 cache).
+ * <p>
+ * The table index is built from the 4x4 block with the top-left corner at {@code (x - 1, y - 1)}: the bit
+ * {@code 4 * dx + dy} is the cell {@code (x - 1 + dx, y - 1 + dy)}. The table value is the 2x2 block with the
+ * top-left corner at {@code (x, y)}: the bit {@code 2 * dx + dy} is the cell {@code (x + dx, y + dy)}.
+ */
+public class LookupKernel extends AKernel {
+
+	private static final int BLOCK_SIZE = 4;
+
+	private static final class TableHolder {
+
+		private static final byte[] TABLE = buildTable();
+	}
+
+	private static byte[] buildTable() {
+		byte[] table = new byte[1 << (BLOCK_SIZE * BLOCK_SIZE)];
+
+		for (int index = 0; index < table.length; ++index) {
+			int block = 0;
+			for (int dx = 0; dx < 2; ++dx) {
+				for (int dy = 0; dy < 2; ++dy) {
+					// position of the cell (x + dx, y + dy) within the 4x4 block
+					int cx = dx + 1;
+					int cy = dy + 1;
+					int neighbours = 0;
+					for (int nx = cx - 1; nx <= cx + 1; ++nx) {
+						for (int ny = cy - 1; ny <= cy + 1; ++ny) {
+							if ((nx != cx || ny != cy) && isSet(index, nx, ny)) {
+								++neighbours;
+							}
+						}
+					}
+
+					if (decide(isSet(index, cx, cy), neighbours)) {
+						block |= 1 << (2 * dx + dy);
+					}
+				}
+			}
+			table[index] = (byte) block;
+		}
+
+		return table;
+	}
+
+	private static boolean isSet(int index, int x, int y) {
+		return (index & (1 << (BLOCK_SIZE * x + y))) != 0;
+	}
+
+	@Override
+	public void fill(BoardChunk target, Neighbourhood neighbourhood, int fromX, int toX, int fromWord,
+			int toWord) {
+		byte[] table = TableHolder.TABLE;
+		int stripeWidth = target.getStripeWidth();
+		int height = target.getStripeHeight();
+		int words = target.getWordsPerColumn();
+
+		for (int x = fromX; x < toX; x += 2) {
+			long[] c0 = neighbourhood.column(x - 1);
+			long[] c1 = neighbourhood.column(x);
+			long[] c2 = neighbourhood.column(x + 1);
+			long[] c3 = neighbourhood.column(x + 2);
+			long[] left = target.getColumn(x);
+			long[] right = x + 1 < toX ? target.getColumn(x + 1) : null;
+			long above0 = neighbourhood.above(x - 1);
+			long above1 = neighbourhood.above(x);
+			long above2 = neighbourhood.above(x + 1);
+			long above3 = x + 2 <= stripeWidth ? neighbourhood.above(x + 2) : 0;
+			long below0 = neighbourhood.below(x - 1);
+			long below1 = neighbourhood.below(x);
+			long below2 = neighbourhood.below(x + 1);
+			long below3 = x + 2 <= stripeWidth ? neighbourhood.below(x + 2) : 0;
+
+			for (int w = fromWord; w < toWord; ++w) {
+				long leftWord = 0;
+				long rightWord = 0;
+				int end = Math.min(Bits.WORD_SIZE, height - w * Bits.WORD_SIZE);
+
+				for (int dy = 0; dy < end; dy += 2) {
+					int y = w * Bits.WORD_SIZE + dy - 1;
+					int index =
+							nibble(c0, y, words, above0, below0)
+									| nibble(c1, y, words, above1, below1) << BLOCK_SIZE
+									| nibble(c2, y, words, above2, below2) << (2 * BLOCK_SIZE)
+									| nibble(c3, y, words, above3, below3) << (3 * BLOCK_SIZE);
+					long block = table[index];
+
+					leftWord |= (block & 0b11) << dy;
+					rightWord |= ((block >>> 2) & 0b11) << dy;
+				}
+
+				long mask = w == words - 1 ? Bits.lastWordMask(height) : -1L;
+				left[w] = leftWord & mask;
+				if (right != null) {
+					right[w] = rightWord & mask;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the cells {@code [y; y + 4)} of a packed column, {@code y >= -1}. The cells above and below the column
+	 * are taken from the words {@code above} and {@code below} (see {@link Neighbourhood#above}).
+	 */
+	private static int nibble(long[] column, int y, int words, long above, long below) {
+		if (y < 0) {
+			return (int) ((column[0] << 1) | (above >>> (Bits.WORD_SIZE - 1))) & 0xF;
+		}
+
+		int w = y / Bits.WORD_SIZE;
+		int offset = y % Bits.WORD_SIZE;
+		long bits = column[w] >>> offset;
+		if (offset > Bits.WORD_SIZE - BLOCK_SIZE) {
+			bits |= (w + 1 < words ? column[w + 1] : below) << (Bits.WORD_SIZE - offset);
+		}
+		return (int) bits & 0xF;
+	}
+}
@@ -0,0 +1,162 @@
+package com.activeviam.experiments.gameoflife.biz.kernel;
+
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+
+/**
+ * This class represents the input of a {@link AKernel kernel}: the chunk of the previous generation along with the
+ * columns adjacent to it and, for tiles, the words adjacent to its top and bottom borders. Missing neighbour cells
+ * are supposed to be dead.
+ */
+public class Neighbourhood {
+
+	private final BoardChunk same;
+	private final long[] west;
+	private final long[] east;
+	private final long[] north;
+	private final long[] south;
+
+	/**
+	 * Constructs a new neighbourhood.
+	 *
+	 * @param same  The chunk of the previous generation
+	 * @param west  The packed column on the left of the chunk (may be null)
+	 * @param east  The packed column on the right of the chunk (may be null)
+	 * @param north For each column {@code x} from {@code -1} to {@code stripeWidth}, the word just above the chunk
+	 *              at index {@code x + 1}: its highest bit is the cell right above the top border (may be null)
+	 * @param south For each column {@code x} from {@code -1} to {@code stripeWidth}, the word just below the chunk
+	 *              at index {@code x + 1}: its lowest bit is the cell right below the bottom border (may be null)
+	 */
+	public Neighbourhood(BoardChunk same, long[] west, long[] east, long[] north, long[] south) {
+		long[] empty = west == null || east == null ? new long[same.getWordsPerColumn()] : null;
+		this.same = same;
+		this.west = west == null ? empty : west;
+		this.east = east == null ? empty : east;
+		this.north = north;
+		this.south = south;
+	}
+
+	/**
+	 * Constructs a new neighbourhood of a full-height stripe.
+	 *
+	 * @param same The chunk of the previous generation
+	 * @param west The packed column on the left of the chunk (may be null)
+	 * @param east The packed column on the right of the chunk (may be null)
+	 */
+	public Neighbourhood(BoardChunk same, long[] west, long[] east) {
+		this(same, west, east, null, null);
+	}
+
+	/**
+	 * Constructs a neighbourhood of a tile from the 3x3 block of tiles around it.
+	 *
+	 * @param tiles The tiles in row-major order: the tile {@code (dx, dy)} relative to the center one has the
+	 *              index {@code 3 * (dy + 1) + dx + 1}. Missing tiles are null.
+	 * @return A new neighbourhood
+	 */
+	public static Neighbourhood of(BoardChunk[] tiles) {
+		BoardChunk same = tiles[4];
+		int stripeWidth = same.getStripeWidth();
+
+		long[] north = null;
+		if (isPresent(tiles[0]) || isPresent(tiles[1]) || isPresent(tiles[2])) {
+			north = new long[stripeWidth + 2];
+			north[0] = lastWord(tiles[0], isPresent(tiles[0]) ? tiles[0].getStripeWidth() - 1 : 0);
+			for (int x = 0; x < stripeWidth; ++x) {
+				north[x + 1] = lastWord(tiles[1], x);
+			}
+			north[stripeWidth + 1] = lastWord(tiles[2], 0);
+		}
+
+		long[] south = null;
+		if (isPresent(tiles[6]) || isPresent(tiles[7]) || isPresent(tiles[8])) {
+			south = new long[stripeWidth + 2];
+			south[0] = firstWord(tiles[6], isPresent(tiles[6]) ? tiles[6].getStripeWidth() - 1 : 0);
+			for (int x = 0; x < stripeWidth; ++x) {
+				south[x + 1] = firstWord(tiles[7], x);
+			}
+			south[stripeWidth + 1] = firstWord(tiles[8], 0);
+		}
+
+		long[] west = isPresent(tiles[3]) ? tiles[3].getColumn(tiles[3].getStripeWidth() - 1) : null;
+		long[] east = isPresent(tiles[5]) ? tiles[5].getColumn(0) : null;
+
+		return new Neighbourhood(same, west, east, north, south);
+	}
+
+	private static boolean isPresent(BoardChunk chunk) {
+		return chunk != null && !chunk.isEmpty();
+	}
+
+	private static long lastWord(BoardChunk tile, int x) {
+		return isPresent(tile) ? tile.getColumn(x)[tile.getWordsPerColumn() - 1] : 0;
+	}
+
+	private static long firstWord(BoardChunk tile, int x) {
+		return isPresent(tile) ? tile.getColumn(x)[0] : 0;
+	}
+
+	public BoardChunk getSame() {
+		return same;
+	}
+
+	/**
+	 * Get a packed column relative to the stripe beginning.
+	 *
+	 * @param x Column index, from {@code -1} to {@link BoardChunk#getStripeWidth() stripeWidth} inclusive
+	 * @return The packed column, must not be modified
+	 */
+	public long[] column(int x) {
+		if (x < 0) {
+			return west;
+		} else if (x >= same.getStripeWidth()) {
+			return east;
+		} else {
+			return same.getColumn(x);
+		}
+	}
+
+	/**
+	 * Get the word just above the column {@code x}. Only its highest bit is a neighbour of the chunk.
+	 *
+	 * @param x Column index, from {@code -1} to {@link BoardChunk#getStripeWidth() stripeWidth} inclusive
+	 * @return The word above the column
+	 */
+	public long above(int x) {
+		return north == null ? 0 : north[x + 1];
+	}
+
+	/**
+	 * Get the word just below the column {@code x}. Only its lowest bit is a neighbour of the chunk.
+	 *
+	 * @param x Column index, from {@code -1} to {@link BoardChunk#getStripeWidth() stripeWidth} inclusive
+	 * @return The word below the column
+	 */
+	public long below(int x) {
+		return south == null ? 0 : south[x + 1];
+	}
+
+	/**
+	 * Get the state of a cell on position {@code (x, y)} relative to the chunk beginning. All the cells outside the
+	 * neighbourhood are supposed to be dead.
+	 *
+	 * @param x Column index
+	 * @param y Row index
+	 * @return {@code true} if the cell is alive, {@code false} otherwise
+	 */
+	public boolean getAt(int x, int y) {
+		if (x < -1 || x > same.getStripeWidth()) {
+			return false;
+		}
+		if (y == -1) {
+			return above(x) < 0;
+		}
+		if (y == same.getStripeHeight()) {
+			return (below(x) & 1) != 0;
+		}
+		if (y < 0 || y > same.getStripeHeight()) {
+			return false;
+		}
+		return Bits.get(column(x), y);
+	}
+}
@@ -0,0 +1,44 @@
+package com.activeviam.experiments.gameoflife.biz.kernel;
+
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+
+/**
+ * The reference kernel. Visits the 8 neighbours of every cell one by one.
+ */
+public class ScalarKernel extends AKernel {
+
+	@Override
+	public void fill(BoardChunk target, Neighbourhood neighbourhood, int fromX, int toX, int fromWord,
+			int toWord) {
+		int fromY = fromWord * Bits.WORD_SIZE;
+		int toY = Math.min(toWord * Bits.WORD_SIZE, target.getStripeHeight());
+
+		for (int x = fromX; x < toX; ++x) {
+			long[] column = target.getColumn(x);
+			for (int y = fromY; y < toY; ++y) {
+				boolean isAlive = neighbourhood.getAt(x, y);
+				int neighbours = 0;
+
+				for (int dx = -1; dx <= 1; ++dx) {
+					for (int dy = -1; dy <= 1; ++dy) {
+						if (dx == 0 && dy == 0) {
+							continue;
+						}
+
+						if (neighbourhood.getAt(x + dx, y + dy)) {
+							++neighbours;
+						}
+					}
+				}
+
+				if (y % Bits.WORD_SIZE == 0) {
+					column[y / Bits.WORD_SIZE] = 0;
+				}
+				if (decide(isAlive, neighbours)) {
+					column[y / Bits.WORD_SIZE] |= 1L << (y % Bits.WORD_SIZE);
+				}
+			}
+		}
+	}
+}
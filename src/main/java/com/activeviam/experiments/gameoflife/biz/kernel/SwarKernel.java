@@ -0,0 +1,97 @@
+package com.activeviam.experiments.gameoflife.biz.kernel;
+
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+
+/**
+ * A kernel that computes a whole packed word (64 cells of a column) at once. The neighbour count of every bit is
+ * computed in parallel with bitwise full adders (SIMD within a register).
+ */
+public class SwarKernel extends AKernel {
+
+	@Override
+	public void fill(BoardChunk target, Neighbourhood neighbourhood, int fromX, int toX, int fromWord,
+			int toWord) {
+		int words = target.getWordsPerColumn();
+		long lastWordMask = Bits.lastWordMask(target.getStripeHeight());
+
+		long[] left = neighbourhood.column(fromX - 1);
+		long[] center = neighbourhood.column(fromX);
+		for (int x = fromX; x < toX; ++x) {
+			long[] right = neighbourhood.column(x + 1);
+			long[] column = target.getColumn(x);
+			long leftAbove = neighbourhood.above(x - 1);
+			long centerAbove = neighbourhood.above(x);
+			long rightAbove = neighbourhood.above(x + 1);
+			long leftBelow = neighbourhood.below(x - 1);
+			long centerBelow = neighbourhood.below(x);
+			long rightBelow = neighbourhood.below(x + 1);
+
+			for (int w = fromWord; w < toWord; ++w) {
+				column[w] = step(
+						upper(left, w, leftAbove), left[w], lower(left, w, words, leftBelow),
+						upper(center, w, centerAbove), center[w], lower(center, w, words, centerBelow),
+						upper(right, w, rightAbove), right[w], lower(right, w, words, rightBelow));
+			}
+			if (toWord == words) {
+				column[words - 1] &= lastWordMask;
+			}
+
+			left = center;
+			center = right;
+		}
+	}
+
+	/**
+	 * Get the word of the upper neighbours: bit {@code i} is the cell just above the bit {@code i} of the word
+	 * {@code w}.
+	 *
+	 * @param column Packed column
+	 * @param w      Word index
+	 * @param above  The word above the column, see {@link Neighbourhood#above}
+	 * @return The shifted word
+	 */
+	static long upper(long[] column, int w, long above) {
+		return (column[w] << 1) | ((w > 0 ? column[w - 1] : above) >>> (Bits.WORD_SIZE - 1));
+	}
+
+	/**
+	 * Get the word of the lower neighbours: bit {@code i} is the cell just below the bit {@code i} of the word
+	 * {@code w}.
+	 *
+	 * @param column Packed column
+	 * @param w      Word index
+	 * @param words  Number of words in the column
+	 * @param below  The word below the column, see {@link Neighbourhood#below}
+	 * @return The shifted word
+	 */
+	static long lower(long[] column, int w, int words, long below) {
+		return (column[w] >>> 1) | ((w + 1 < words ? column[w + 1] : below) << (Bits.WORD_SIZE - 1));
+	}
+
+	/**
+	 * Compute the next state of 64 cells given the words of their neighbours.
+	 *
+	 * @return The next state of the cells of the word {@code alive}
+	 */
+	static long step(long leftUp, long left, long leftDown, long up, long alive, long down, long rightUp,
+			long right, long rightDown) {
+		// 2-bit vertical sums of the left and right columns, and of the upper and lower neighbours
+		long l0 = leftUp ^ left ^ leftDown;
+		long l1 = (leftUp & left) | (leftDown & (leftUp ^ left));
+		long r0 = rightUp ^ right ^ rightDown;
+		long r1 = (rightUp & right) | (rightDown & (rightUp ^ right));
+		long c0 = up ^ down;
+		long c1 = up & down;
+
+		long sum0 = l0 ^ c0 ^ r0;
+		long carry = (l0 & c0) | (r0 & (l0 ^ c0));
+
+		// The neighbour count is sum0 + 2 * (l1 + c1 + r1 + carry), it is 2 or 3 iff exactly one of them is set
+		long x1 = l1 ^ c1;
+		long x2 = r1 ^ carry;
+		long twoOrThree = (x1 ^ x2) & ~((l1 & c1) | (r1 & carry));
+
+		return twoOrThree & (sum0 | alive);
+	}
+}
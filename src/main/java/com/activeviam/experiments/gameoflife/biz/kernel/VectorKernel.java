@@ -0,0 +1,120 @@
+package com.activeviam.experiments.gameoflife.biz.kernel;
+
+import static com.activeviam.experiments.gameoflife.biz.kernel.SwarKernel.lower;
+import static com.activeviam.experiments.gameoflife.biz.kernel.SwarKernel.step;
+import static com.activeviam.experiments.gameoflife.biz.kernel.SwarKernel.upper;
+import static jdk.incubator.vector.VectorOperators.AND_NOT;
+import static jdk.incubator.vector.VectorOperators.LSHL;
+import static jdk.incubator.vector.VectorOperators.LSHR;
+import static jdk.incubator.vector.VectorOperators.XOR;
+
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A kernel that applies the {@link SwarKernel} logic to several consecutive words of a column at once using the
+ * vector lanes of the CPU. The first and the last words of a column, as well as the words that do not fill a whole
+ * vector, are computed by the scalar code.
+ */
+public class VectorKernel extends AKernel {
+
+	private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+	/**
+	 * Check whether the preferred vector species can hold more than one word. If it does not, this kernel is
+	 * slower than {@link SwarKernel}.
+	 *
+	 * @return {@code true} if vector operations are supported
+	 */
+	static boolean isSupported() {
+		return SPECIES.length() > 1;
+	}
+
+	@Override
+	public void fill(BoardChunk target, Neighbourhood neighbourhood, int fromX, int toX, int fromWord,
+			int toWord) {
+		int words = target.getWordsPerColumn();
+		long lastWordMask = Bits.lastWordMask(target.getStripeHeight());
+		// The vector version reads the word after the last one it computes
+		int vectorEnd = Math.min(toWord, words - 1);
+
+		long[] left = neighbourhood.column(fromX - 1);
+		long[] center = neighbourhood.column(fromX);
+		for (int x = fromX; x < toX; ++x) {
+			long[] right = neighbourhood.column(x + 1);
+			long[] column = target.getColumn(x);
+
+			int w = fromWord;
+			if (w == 0 && w < toWord) {
+				column[0] = stepScalar(neighbourhood, x, left, center, right, 0, words);
+				w = 1;
+			}
+			for (; w + SPECIES.length() <= vectorEnd; w += SPECIES.length()) {
+				stepVector(left, center, right, column, w);
+			}
+			for (; w < toWord; ++w) {
+				column[w] = stepScalar(neighbourhood, x, left, center, right, w, words);
+			}
+			if (toWord == words) {
+				column[words - 1] &= lastWordMask;
+			}
+
+			left = center;
+			center = right;
+		}
+	}
+
+	private static long stepScalar(Neighbourhood neighbourhood, int x, long[] left, long[] center, long[] right,
+			int w, int words) {
+		return step(
+				upper(left, w, neighbourhood.above(x - 1)), left[w],
+				lower(left, w, words, neighbourhood.below(x - 1)),
+				upper(center, w, neighbourhood.above(x)), center[w],
+				lower(center, w, words, neighbourhood.below(x)),
+				upper(right, w, neighbourhood.above(x + 1)), right[w],
+				lower(right, w, words, neighbourhood.below(x + 1)));
+	}
+
+	/**
+	 * Vector version of {@link SwarKernel#step}. Requires {@code w > 0} and {@code w + SPECIES.length() < words}.
+	 */
+	private static void stepVector(long[] left, long[] center, long[] right, long[] column, int w) {
+		LongVector leftUp = upperVector(left, w);
+		LongVector leftMid = LongVector.fromArray(SPECIES, left, w);
+		LongVector leftDown = lowerVector(left, w);
+		LongVector up = upperVector(center, w);
+		LongVector alive = LongVector.fromArray(SPECIES, center, w);
+		LongVector down = lowerVector(center, w);
+		LongVector rightUp = upperVector(right, w);
+		LongVector rightMid = LongVector.fromArray(SPECIES, right, w);
+		LongVector rightDown = lowerVector(right, w);
+
+		LongVector l0 = leftUp.lanewise(XOR, leftMid).lanewise(XOR, leftDown);
+		LongVector l1 = leftUp.and(leftMid).or(leftDown.and(leftUp.lanewise(XOR, leftMid)));
+		LongVector r0 = rightUp.lanewise(XOR, rightMid).lanewise(XOR, rightDown);
+		LongVector r1 = rightUp.and(rightMid).or(rightDown.and(rightUp.lanewise(XOR, rightMid)));
+		LongVector c0 = up.lanewise(XOR, down);
+		LongVector c1 = up.and(down);
+
+		LongVector sum0 = l0.lanewise(XOR, c0).lanewise(XOR, r0);
+		LongVector carry = l0.and(c0).or(r0.and(l0.lanewise(XOR, c0)));
+
+		LongVector x1 = l1.lanewise(XOR, c1);
+		LongVector x2 = r1.lanewise(XOR, carry);
+		LongVector twoOrThree = x1.lanewise(XOR, x2).lanewise(AND_NOT, l1.and(c1).or(r1.and(carry)));
+
+		twoOrThree.and(sum0.or(alive)).intoArray(column, w);
+	}
+
+	private static LongVector upperVector(long[] column, int w) {
+		return LongVector.fromArray(SPECIES, column, w).lanewise(LSHL, 1)
+				.or(LongVector.fromArray(SPECIES, column, w - 1).lanewise(LSHR, Bits.WORD_SIZE - 1));
+	}
+
+	private static LongVector lowerVector(long[] column, int w) {
+		return LongVector.fromArray(SPECIES, column, w).lanewise(LSHR, 1)
+				.or(LongVector.fromArray(SPECIES, column, w + 1).lanewise(LSHL, Bits.WORD_SIZE - 1));
+	}
+}
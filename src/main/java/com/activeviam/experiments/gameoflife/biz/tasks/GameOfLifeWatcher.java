@@ -1,8 +1,10 @@
 package com.activeviam.experiments.gameoflife.biz.tasks;
 
+import com.activeviam.experiments.gameoflife.biz.CycleDetector.Cycle;
 import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
 import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext.ExecutionStage;
 import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.BoundedRunner;
 import java.util.Arrays;
 
 /**
@@ -43,6 +45,10 @@ public class GameOfLifeWatcher extends ATask<Void> {
 	private void traceSummary() {
 		traceContext();
 		traceTimer();
+		traceActivity();
+		traceBalance();
+		traceCycle();
+		traceRunner();
 	}
 
 	private void traceContext() {
@@ -72,4 +78,42 @@ public class GameOfLifeWatcher extends ATask<Void> {
 
 		System.out.println(sb);
 	}
+
+	private void traceActivity() {
+		GameOfLifeContext ctx = GameOfLifeContext.getContext();
+		if (ctx.getSkippedCells() > 0) {
+			System.out.println("Cell updates skipped: " + ctx.getSkippedCells());
+		}
+	}
+
+	private void traceBalance() {
+		GameOfLifeContext ctx = GameOfLifeContext.getContext();
+		long total = 0;
+		long max = 0;
+		for (int i = 0; i < ctx.getParallelism(); ++i) {
+			total += ctx.getComputeTime(i);
+			max = Math.max(max, ctx.getComputeTime(i));
+		}
+
+		if (total > 0) {
+			System.out.println("Stripe compute time: max " + max * NS_TO_MS + " ms, mean "
+					+ total / ctx.getParallelism() * NS_TO_MS + " ms");
+		}
+	}
+
+	private void traceCycle() {
+		Cycle cycle = GameOfLifeContext.getContext().getCycle();
+		if (cycle != null) {
+			System.out.println("Cycle of period " + cycle.period() + " detected at generation " + cycle.generation()
+					+ ", generations skipped: " + cycle.skippedGenerations());
+		}
+	}
+
+	private void traceRunner() {
+		BoundedRunner<?> runner = GameOfLifeContext.getContext().getRunner();
+		if (runner != null) {
+			System.out.println("Tasks in flight: peak " + runner.getPeakInFlight() + ", capacity "
+					+ runner.getCapacity());
+		}
+	}
 }
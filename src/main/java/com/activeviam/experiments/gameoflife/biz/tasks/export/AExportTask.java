@@ -1,8 +1,11 @@
 package com.activeviam.experiments.gameoflife.biz.tasks.export;
 
 import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
 import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
 import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext.ExecutionStage;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.DensifyTask;
+import com.activeviam.experiments.gameoflife.biz.tasks.process.SparsifyTask;
 import com.activeviam.experiments.gameoflife.task.ATask;
 import java.util.List;
 
@@ -18,7 +21,11 @@ public abstract class AExportTask extends ATask<Void> {
 		/**
 		 * Export the board in the human-readable text format. see {@link PrettyExportTask}.
 		 */
-		PRETTY
+		PRETTY,
+		/**
+		 * Export the coordinates of the live cells. See {@link CellsExportTask}.
+		 */
+		CELLS
 	}
 
 	/**
@@ -39,9 +46,23 @@ public abstract class AExportTask extends ATask<Void> {
 	 * @return An export task
 	 */
 	public static AExportTask build(SinkConfig sinkConfig, List<ATask<BoardChunk>> lastGeneration) {
-		//noinspection SwitchStatementWithTooFewBranches
 		return switch (sinkConfig.type) {
 			case PRETTY -> PrettyExportTask.build(sinkConfig, lastGeneration);
+			case CELLS -> CellsExportTask.build(sinkConfig, new SparsifyTask(lastGeneration));
+		};
+	}
+
+	/**
+	 * Build an export task for the sparse engine.
+	 *
+	 * @param sinkConfig     Configuration of the export task
+	 * @param lastGeneration The task that returns the last generation
+	 * @return An export task
+	 */
+	public static AExportTask buildSparse(SinkConfig sinkConfig, ATask<SparseBoard> lastGeneration) {
+		return switch (sinkConfig.type) {
+			case PRETTY -> PrettyExportTask.build(sinkConfig, List.of(new DensifyTask(lastGeneration)));
+			case CELLS -> CellsExportTask.build(sinkConfig, lastGeneration);
 		};
 	}
 
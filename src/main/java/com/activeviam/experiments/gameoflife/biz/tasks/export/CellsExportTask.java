@@ -0,0 +1,84 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.export;
+
+import static com.activeviam.experiments.gameoflife.biz.Utils.parseArg;
+
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * An implementation of export task. Exports the live cells of the Game Of Life board into a file: the first line
+ * holds the board dimensions, then every line holds the coordinates of a live cell, ordered by column then by row:
+ * <pre>
+ * 3 3
+ * 0 2
+ * 1 0
+ * 1 2
+ * </pre>
+ * Unlike {@link PrettyExportTask}, the size of the output does not depend on the board dimensions.
+ */
+public class CellsExportTask extends AExportTask {
+
+	@Dependency
+	private ATask<SparseBoard> boardTask;
+	private final File file;
+
+	/**
+	 * Constructs the task.
+	 *
+	 * @param boardTask The task that produces the last generation of the board
+	 * @param file      The file where the result should be exported
+	 */
+	public CellsExportTask(ATask<SparseBoard> boardTask, File file) {
+		this.boardTask = boardTask;
+		this.file = file;
+	}
+
+	private record Parameters(File file) {
+
+	}
+
+	/**
+	 * Builds a new {@link CellsExportTask} instance.
+	 *
+	 * @param config    Export task configuration
+	 * @param boardTask The task that produces the last generation of the board
+	 * @return A new instance
+	 */
+	public static CellsExportTask build(SinkConfig config, ATask<SparseBoard> boardTask) {
+		Parameters params = tryParseParams(config);
+		return new CellsExportTask(boardTask, params.file);
+	}
+
+	private static Parameters tryParseParams(SinkConfig config) {
+		if (config.args() == null || config.args().length != 1) {
+			throw new IllegalArgumentException(
+					"Bad argument count, expected [<file>] got " + Arrays.toString(config.args()));
+		}
+
+		File file = parseArg(config.args(), 0, File.class);
+
+		return new Parameters(file);
+	}
+
+	@Override
+	protected Void compute() throws Exception {
+		SparseBoard board = boardTask.call();
+
+		startExporting();
+		try (var writer = new PrintWriter(new BufferedWriter(new FileWriter(file)))) {
+			writer.println(board.width() + " " + board.height());
+			for (long cell : board.cells()) {
+				writer.println(SparseBoard.x(cell) + " " + SparseBoard.y(cell));
+			}
+		}
+		stopExporting();
+
+		return null;
+	}
+}
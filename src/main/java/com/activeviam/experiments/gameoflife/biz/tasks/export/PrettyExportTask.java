@@ -2,10 +2,12 @@ package com.activeviam.experiments.gameoflife.biz.tasks.export;
 
 import static com.activeviam.experiments.gameoflife.biz.Utils.parseArg;
 
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
 import com.activeviam.experiments.gameoflife.biz.board.Board;
 import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
 import com.activeviam.experiments.gameoflife.task.ATask;
 import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
@@ -13,7 +15,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Future;
-import jdk.incubator.concurrent.StructuredTaskScope;
 
 /**
  * An implementation of export task. Exports the Game Of Life board into a file in the human-readable format, like
@@ -72,13 +73,16 @@ public class PrettyExportTask extends AExportTask {
 	protected Void compute() throws Exception {
 		BoardChunk[] chunks = new BoardChunk[chunkTasks.size()];
 
-		try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			var forker = new TaskForker<>(scope);
 			List<Future<BoardChunk>> futures = new ArrayList<>(chunkTasks.size());
 			for (ATask<BoardChunk> chunkTask : chunkTasks) {
-				futures.add(scope.fork(chunkTask));
+				futures.add(forker.fork(chunkTask));
 			}
 
+			Future<Void> listened = forker.done();
 			scope.join().throwIfFailed();
+			listened.get();
 
 			for (int i = 0; i < chunks.length; ++i) {
 				chunks[i] = futures.get(i).resultNow();
@@ -86,7 +90,7 @@ public class PrettyExportTask extends AExportTask {
 		}
 
 		startExporting();
-		Board board = merge(chunks);
+		Board board = Board.merge(chunks);
 		try (var stream = new PrintStream(new FileOutputStream(file))) {
 			for (int y = 0; y < board.height(); ++y) {
 				for (int x = 0; x < board.width(); ++x) {
@@ -99,18 +103,4 @@ public class PrettyExportTask extends AExportTask {
 
 		return null;
 	}
-
-	private Board merge(BoardChunk[] chunks) {
-		int width = chunks[0].getWidth();
-		int height = chunks[0].getHeight();
-
-		boolean[][] data = new boolean[width][];
-
-		for (BoardChunk chunk : chunks) {
-			if (chunk.getStripeWidth() >= 0) {
-				System.arraycopy(chunk.getData(), 0, data, chunk.getBeginWidth(), chunk.getStripeWidth());
-			}
-		}
-		return new Board(width, height, data);
-	}
 }
@@ -0,0 +1,85 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.Utils;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.Halo;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.Neighbourhood;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
+import java.util.concurrent.Future;
+
+/**
+ * This class represents the first half of the boundary-first computation of a stripe: it computes only the first and
+ * the last columns of the next generation and publishes them as a {@link Halo}. The neighbour stripes may then start
+ * the following generation while {@link InteriorComputeTask} computes the remaining columns.
+ * <p>
+ * The columns are written into the chunk that follows the previous generation in the ring, the interior task
+ * completes the same chunk.
+ */
+public class BorderComputeTask extends ATask<Halo> {
+
+	@Dependency
+	private ATask<Halo> prevTask;
+	@Dependency
+	private ATask<BoardChunk> sameTask;
+	@Dependency
+	private ATask<Halo> nextTask;
+	private final AKernel kernel;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param prevTask The task that returns the halo of the left-neighbour chunk of the previous generation (may be
+	 *                 null)
+	 * @param sameTask The task that returns the same chunk of the previous generation
+	 * @param nextTask The task that returns the halo of the right-neighbour chunk of the previous generation (may be
+	 *                 null)
+	 * @param kernel   The kernel used to compute the next generation
+	 */
+	public BorderComputeTask(ATask<Halo> prevTask, ATask<BoardChunk> sameTask, ATask<Halo> nextTask, AKernel kernel) {
+		this.prevTask = prevTask;
+		this.sameTask = sameTask;
+		this.nextTask = nextTask;
+		this.kernel = kernel;
+	}
+
+	@Override
+	protected Halo compute() throws Exception {
+		Halo prevHalo;
+		BoardChunk sameChunk;
+		Halo nextHalo;
+
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			var forker = new TaskForker<>(scope);
+			Future<Halo> prevFuture = Utils.forkOrDefault(forker, prevTask, null);
+			Future<BoardChunk> sameFuture = forker.fork(sameTask);
+			Future<Halo> nextFuture = Utils.forkOrDefault(forker, nextTask, null);
+
+			Future<Void> listened = forker.done();
+			scope.join().throwIfFailed();
+			listened.get();
+
+			prevHalo = prevFuture.resultNow();
+			sameChunk = sameFuture.resultNow();
+			nextHalo = nextFuture.resultNow();
+		}
+
+		BoardChunk result = sameChunk.nextChunk();
+		int stripeWidth = sameChunk.getStripeWidth();
+		if (stripeWidth > 0) {
+			long[] west = prevHalo != null ? prevHalo.lastColumn() : null;
+			long[] east = nextHalo != null ? nextHalo.firstColumn() : null;
+			Neighbourhood neighbourhood = new Neighbourhood(sameChunk, west, east);
+
+			kernel.fill(result, neighbourhood, 0, 1);
+			if (stripeWidth > 1) {
+				kernel.fill(result, neighbourhood, stripeWidth - 1, stripeWidth);
+			}
+		}
+
+		return Halo.of(result);
+	}
+}
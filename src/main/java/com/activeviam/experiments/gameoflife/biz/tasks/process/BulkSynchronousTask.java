@@ -0,0 +1,97 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.Board;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.Neighbourhood;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadFactory;
+import jdk.incubator.concurrent.StructuredTaskScope;
+
+/**
+ * This task computes all the generations in the bulk-synchronous way: the board is double-buffered, a fixed number of
+ * workers compute their stripes of the next generation from the previous one, and wait for each other with a
+ * {@link Phaser} before the buffers are swapped. There is no task per stripe and generation, so it is a baseline to
+ * measure the scheduling overhead of the task graph. The workers are created by a dedicated factory: platform threads
+ * make the baseline independent of the virtual thread scheduler.
+ * <p>
+ * The result is a single full-board {@link BoardChunk}.
+ */
+public class BulkSynchronousTask extends ATask<BoardChunk> {
+
+	@Dependency
+	private ATask<Board> boardTask;
+	private final int iterations;
+	private final int workers;
+	private final AKernel kernel;
+	private final ThreadFactory workerFactory;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param boardTask     The task that returns the initial board
+	 * @param iterations    Number of generations to be computed
+	 * @param workers       Number of threads, each one computes a stripe
+	 * @param kernel        The kernel used to compute the next generations
+	 * @param workerFactory The factory of the worker threads
+	 */
+	public BulkSynchronousTask(ATask<Board> boardTask, int iterations, int workers, AKernel kernel,
+			ThreadFactory workerFactory) {
+		if (workers <= 0) {
+			throw new IllegalArgumentException("Number of workers must be positive");
+		}
+
+		this.boardTask = boardTask;
+		this.iterations = iterations;
+		this.workers = workers;
+		this.kernel = kernel;
+		this.workerFactory = workerFactory;
+	}
+
+	@Override
+	protected BoardChunk compute() throws Exception {
+		Board board = boardTask.call();
+		BoardChunk first = BoardChunk.ring(board.getChunk(0, board.width()), 2);
+		BoardChunk[] buffers = new BoardChunk[]{first, first.nextChunk()};
+
+		int width = board.width();
+		int stripeWidth = SplitTask.stripeWidth(width, workers);
+		Phaser phaser = new Phaser(workers);
+
+		// The workers are forked in a scope, so that they inherit the context
+		try (var scope = new StructuredTaskScope.ShutdownOnFailure(null, workerFactory)) {
+			for (int i = 0; i < workers; ++i) {
+				int idx = i;
+				int fromX = Math.min(width, idx * stripeWidth);
+				int toX = Math.min(width, fromX + stripeWidth);
+				scope.fork(() -> {
+					sweep(buffers, phaser, idx, fromX, toX);
+					return null;
+				});
+			}
+
+			scope.join().throwIfFailed();
+		}
+
+		return buffers[iterations % 2];
+	}
+
+	private void sweep(BoardChunk[] buffers, Phaser phaser, int idx, int fromX, int toX) throws Exception {
+		GameOfLifeContext ctx = GameOfLifeContext.getContext();
+
+		for (int generation = 1; generation <= iterations; ++generation) {
+			BoardChunk source = buffers[(generation - 1) % 2];
+			BoardChunk target = buffers[generation % 2];
+			if (fromX < toX) {
+				kernel.fill(target, new Neighbourhood(source, null, null), fromX, toX);
+			}
+			ctx.incProgress(idx);
+
+			// The next generation reads the columns of the neighbour stripes
+			phaser.awaitAdvanceInterruptibly(phaser.arrive());
+		}
+	}
+}
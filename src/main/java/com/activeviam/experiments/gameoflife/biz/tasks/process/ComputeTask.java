@@ -1,116 +1,220 @@
 package com.activeviam.experiments.gameoflife.biz.tasks.process;
 
+import com.activeviam.experiments.gameoflife.biz.CycleDetector;
 import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
 import com.activeviam.experiments.gameoflife.biz.Utils;
 import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.Halo;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.Neighbourhood;
 import com.activeviam.experiments.gameoflife.task.ATask;
 import com.activeviam.experiments.gameoflife.task.Dependency;
 import com.activeviam.experiments.gameoflife.task.TaskForker;
 import java.util.concurrent.Future;
-import jdk.incubator.concurrent.StructuredTaskScope;
 
 /**
- * This class represents the Game Of Life computation task.
+ * This class represents the Game Of Life computation task of a stripe. It depends on the previous generation of the
+ * stripe and only on the {@link Halo halos} of the neighbour stripes.
+ * <p>
+ * The task may advance the stripe by several generations at once (temporal blocking). In this case the halos must
+ * be as deep as the number of generations: the stripe is extended with the halo columns, and the extended stripe is
+ * computed locally. Since the cells beyond the halo are unknown, every generation invalidates one more column at each
+ * side of the extended stripe, so that exactly the columns of the stripe itself remain valid at the end.
  */
 public class ComputeTask extends ATask<BoardChunk> {
 
 	@Dependency
-	private ATask<BoardChunk> prevTask;
+	private ATask<Halo> prevTask;
 	@Dependency
 	private ATask<BoardChunk> sameTask;
 	@Dependency
-	private ATask<BoardChunk> nextTask;
+	private ATask<Halo> nextTask;
 	private final int idx;
+	private final AKernel kernel;
+	private final int generations;
+	private final CycleDetector cycleDetector;
+	private final int generation;
 
 	/**
 	 * Constructs a new computation tasks.
 	 *
-	 * @param prevTask The task that returns the left-neighbour chunk of the previous generation (may be null)
+	 * @param prevTask The task that returns the halo of the left-neighbour chunk of the previous generation (may be
+	 *                 null)
 	 * @param sameTask The task that returns the same chunk of the previous generation
-	 * @param nextTask The task that returns the right-neighbour chunk of the previous generation (may be null)
+	 * @param nextTask The task that returns the halo of the right-neighbour chunk of the previous generation (may be
+	 *                 null)
 	 * @param idx      The chunk index
+	 * @param kernel   The kernel used to compute the next generation
+	 */
+	public ComputeTask(ATask<Halo> prevTask, ATask<BoardChunk> sameTask, ATask<Halo> nextTask, int idx,
+			AKernel kernel) {
+		this(prevTask, sameTask, nextTask, idx, kernel, 1);
+	}
+
+	/**
+	 * Constructs a new computation task that advances the stripe by several generations.
+	 *
+	 * @param prevTask    The task that returns the halo of the left-neighbour chunk of the previous generation (may
+	 *                    be null), at least {@code generations} columns deep
+	 * @param sameTask    The task that returns the same chunk of the previous generation
+	 * @param nextTask    The task that returns the halo of the right-neighbour chunk of the previous generation (may
+	 *                    be null), at least {@code generations} columns deep
+	 * @param idx         The chunk index
+	 * @param kernel      The kernel used to compute the next generations
+	 * @param generations Number of generations to be computed
 	 */
 	@SuppressWarnings("GrazieInspection")
-	public ComputeTask(ATask<BoardChunk> prevTask, ATask<BoardChunk> sameTask, ATask<BoardChunk> nextTask,
-			int idx) {
+	public ComputeTask(ATask<Halo> prevTask, ATask<BoardChunk> sameTask, ATask<Halo> nextTask, int idx,
+			AKernel kernel, int generations) {
+		if (generations <= 0) {
+			throw new IllegalArgumentException("Number of generations must be positive");
+		}
+
 		this.prevTask = prevTask;
 		this.sameTask = sameTask;
 		this.nextTask = nextTask;
 		this.idx = idx;
+		this.kernel = kernel;
+		this.generations = generations;
+		this.cycleDetector = null;
+		this.generation = 0;
+	}
+
+	/**
+	 * Constructs a new computation task that reports the fingerprint of the stripe to a {@link CycleDetector}, and
+	 * keeps the previous generation of the stripe once the detector has found a cycle.
+	 *
+	 * @param prevTask      The task that returns the halo of the left-neighbour chunk of the previous generation (may
+	 *                      be null)
+	 * @param sameTask      The task that returns the same chunk of the previous generation
+	 * @param nextTask      The task that returns the halo of the right-neighbour chunk of the previous generation (may
+	 *                      be null)
+	 * @param idx           The chunk index
+	 * @param kernel        The kernel used to compute the next generation
+	 * @param cycleDetector The cycle detector shared by all the stripes
+	 * @param generation    The generation computed by this task
+	 */
+	public ComputeTask(ATask<Halo> prevTask, ATask<BoardChunk> sameTask, ATask<Halo> nextTask, int idx,
+			AKernel kernel, CycleDetector cycleDetector, int generation) {
+		this.prevTask = prevTask;
+		this.sameTask = sameTask;
+		this.nextTask = nextTask;
+		this.idx = idx;
+		this.kernel = kernel;
+		this.generations = 1;
+		this.cycleDetector = cycleDetector;
+		this.generation = generation;
 	}
 
 	@Override
 	protected BoardChunk compute() throws Exception {
-		BoardChunk prevChunk;
+		Halo prevHalo;
 		BoardChunk sameChunk;
-		BoardChunk nextChunk;
+		Halo nextHalo;
 
-		try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-			var forker = new TaskForker<>(scope);
-			Future<BoardChunk> prevFuture = Utils.forkOrDefault(forker, prevTask, null);
-			Future<BoardChunk> sameFuture = forker.fork(sameTask);
-			Future<BoardChunk> nextFuture = Utils.forkOrDefault(forker, nextTask, null);
+		if (Utils.isDoneOrNull(prevTask) && sameTask.isDone() && Utils.isDoneOrNull(nextTask)) {
+			// Fast path: the previous generation is already computed, no need to fork anything
+			prevHalo = prevTask != null ? prevTask.tryGetResult() : null;
+			sameChunk = sameTask.tryGetResult();
+			nextHalo = nextTask != null ? nextTask.tryGetResult() : null;
+		} else {
+			try (var scope = GameOfLifeContext.getContext().newScope()) {
+				var forker = new TaskForker<>(scope);
+				Future<Halo> prevFuture = Utils.forkOrDefault(forker, prevTask, null);
+				Future<BoardChunk> sameFuture = forker.fork(sameTask);
+				Future<Halo> nextFuture = Utils.forkOrDefault(forker, nextTask, null);
+
+				Future<Void> listened = forker.done();
+				scope.join().throwIfFailed();
+				listened.get();
+
+				prevHalo = prevFuture.resultNow();
+				sameChunk = sameFuture.resultNow();
+				nextHalo = nextFuture.resultNow();
+			}
+		}
 
-			forker.done();
-			scope.join().throwIfFailed();
+		if (cycleDetector != null && generation == 1) {
+			cycleDetector.addFingerprint(0, CycleDetector.fingerprint(sameChunk));
+		}
 
-			prevChunk = prevFuture.resultNow();
-			sameChunk = sameFuture.resultNow();
-			nextChunk = nextFuture.resultNow();
+		if (cycleDetector != null && !cycleDetector.shouldCompute(generation)) {
+			GameOfLifeContext.getContext().addProgress(idx, generations);
+			return sameChunk;
 		}
 
+		long start = System.nanoTime();
 		BoardChunk result = sameChunk.nextChunk();
-		boolean[][] data = result.getData();
-		fill(data, prevChunk, sameChunk, nextChunk);
+		if (generations == 1) {
+			long[] west = prevHalo != null ? prevHalo.lastColumn() : null;
+			long[] east = nextHalo != null ? nextHalo.firstColumn() : null;
+			kernel.fill(result, new Neighbourhood(sameChunk, west, east));
+			reportActivity(result);
+			if (cycleDetector != null && !cycleDetector.isDetected()) {
+				cycleDetector.addFingerprint(generation, CycleDetector.fingerprint(result));
+			}
+		} else {
+			fillGenerations(kernel, generations, result, prevHalo, sameChunk, nextHalo);
+		}
 
-		GameOfLifeContext.getContext().incProgress(idx);
+		GameOfLifeContext.getContext().addComputeTime(idx, System.nanoTime() - start);
+		GameOfLifeContext.getContext().addProgress(idx, generations);
 
 		return result;
 	}
 
-	private void fill(boolean[][] data, BoardChunk prevChunk, BoardChunk sameChunk, BoardChunk nextChunk) {
-		int stripeWidth = sameChunk.getStripeWidth();
-		int height = sameChunk.getHeight();
-
-		for (int x = 0; x < stripeWidth; ++x) {
-			for (int y = 0; y < height; ++y) {
-				boolean isAlive = sameChunk.getAt(x, y);
-				int neighbours = 0;
-
-				for (int dx = -1; dx <= 1; ++dx) {
-					for (int dy = -1; dy <= 1; ++dy) {
-						if (dx == 0 && dy == 0) {
-							continue;
-						}
-
-						int nx = x + dx;
-						int ny = y + dy;
-
-						boolean isNeighbourAlive;
-						if (nx < 0) {
-							isNeighbourAlive = prevChunk != null && prevChunk.getAt(prevChunk.getStripeWidth() - 1, ny);
-						} else if (nx >= stripeWidth) {
-							isNeighbourAlive = nextChunk != null && nextChunk.getAt(0, ny);
-						} else {
-							isNeighbourAlive = sameChunk.getAt(nx, ny);
-						}
-
-						if (isNeighbourAlive) {
-							++neighbours;
-						}
-					}
-				}
-
-				data[x][y] = decide(isAlive, neighbours);
-			}
+	private static void reportActivity(BoardChunk result) {
+		if (result.getActivity() != null) {
+			GameOfLifeContext.getContext().addSkippedCells(result.getActivity().getSkippedCells());
 		}
 	}
 
-	private boolean decide(boolean isAlive, int neighbours) {
-		if (isAlive) {
-			return neighbours == 2 || neighbours == 3;
-		} else {
-			return neighbours == 3;
+	/**
+	 * Compute several generations of a chunk from the halos of its neighbours, which must be at least
+	 * {@code generations} columns deep. The halos are computed along with the chunk, each generation is one column
+	 * narrower on each side.
+	 */
+	static void fillGenerations(AKernel kernel, int generations, BoardChunk result, Halo prevHalo,
+			BoardChunk sameChunk, Halo nextHalo) {
+		long[][] west = prevHalo != null ? prevHalo.last() : new long[0][];
+		long[][] east = nextHalo != null ? nextHalo.first() : new long[0][];
+		if (west.length > 0 && west.length < generations || east.length > 0 && east.length < generations) {
+			throw new IllegalStateException("Halo is not deep enough for " + generations + " generations");
+		}
+
+		int stripeWidth = sameChunk.getStripeWidth();
+		int leftDepth = west.length > 0 ? generations : 0;
+		int rightDepth = east.length > 0 ? generations : 0;
+		int extendedWidth = leftDepth + stripeWidth + rightDepth;
+
+		long[][] columns = new long[extendedWidth][];
+		System.arraycopy(west, west.length - leftDepth, columns, 0, leftDepth);
+		System.arraycopy(sameChunk.getData(), 0, columns, leftDepth, stripeWidth);
+		System.arraycopy(east, 0, columns, leftDepth + stripeWidth, rightDepth);
+
+		BoardChunk source = extend(sameChunk, leftDepth, rightDepth, columns);
+		BoardChunk[] buffers = new BoardChunk[]{
+				extend(sameChunk, leftDepth, rightDepth, null),
+				extend(sameChunk, leftDepth, rightDepth, null)
+		};
+		// The last generation is written directly to the result
+		long[][] resultColumns = buffers[(generations - 1) % 2].getData();
+		System.arraycopy(result.getData(), 0, resultColumns, leftDepth, stripeWidth);
+
+		for (int generation = 1; generation <= generations; ++generation) {
+			BoardChunk target = buffers[(generation - 1) % 2];
+			int fromX = leftDepth > 0 ? generation : 0;
+			int toX = extendedWidth - (rightDepth > 0 ? generation : 0);
+			kernel.fill(target, new Neighbourhood(source, null, null), fromX, toX);
+			source = target;
 		}
 	}
+
+	private static BoardChunk extend(BoardChunk chunk, int leftDepth, int rightDepth, long[][] columns) {
+		int beginWidth = chunk.getBeginWidth() - leftDepth;
+		int endWidth = chunk.getEndWidth() + rightDepth;
+		return columns != null
+				? new BoardChunk(chunk.getWidth(), chunk.getHeight(), beginWidth, endWidth, columns)
+				: new BoardChunk(chunk.getWidth(), chunk.getHeight(), beginWidth, endWidth);
+	}
 }
@@ -0,0 +1,31 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+
+/**
+ * This task converts a {@link SparseBoard} into a single full-board {@link BoardChunk}, so that it can be consumed
+ * by the tasks of the dense engine (e.g. export tasks).
+ */
+public class DensifyTask extends ATask<BoardChunk> {
+
+	@Dependency
+	private ATask<SparseBoard> boardTask;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param boardTask The task that returns the sparse board
+	 */
+	public DensifyTask(ATask<SparseBoard> boardTask) {
+		this.boardTask = boardTask;
+	}
+
+	@Override
+	protected BoardChunk compute() throws Exception {
+		SparseBoard board = boardTask.call();
+		return board.toBoard().getChunk(0, board.width());
+	}
+}
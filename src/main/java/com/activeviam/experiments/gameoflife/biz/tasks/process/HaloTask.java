@@ -0,0 +1,43 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.Halo;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+
+/**
+ * This task publishes the {@link Halo border columns} of a chunk for the {@link ComputeTask computation tasks} of the
+ * neighbour chunks. Since the dependency is disposed once the halo is copied, the neighbours do not retain the whole
+ * chunk.
+ */
+public class HaloTask extends ATask<Halo> {
+
+	@Dependency
+	private ATask<BoardChunk> chunkTask;
+	private final int depth;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param chunkTask The task that returns the chunk
+	 * @param depth     Number of border columns to be published on each side
+	 */
+	public HaloTask(ATask<BoardChunk> chunkTask, int depth) {
+		this.chunkTask = chunkTask;
+		this.depth = depth;
+	}
+
+	/**
+	 * Constructs a new task that publishes a single border column on each side.
+	 *
+	 * @param chunkTask The task that returns the chunk
+	 */
+	public HaloTask(ATask<BoardChunk> chunkTask) {
+		this(chunkTask, 1);
+	}
+
+	@Override
+	protected Halo compute() throws Exception {
+		return Halo.of(chunkTask.call(), depth);
+	}
+}
@@ -0,0 +1,65 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.Board;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.hashlife.HashLife;
+import com.activeviam.experiments.gameoflife.biz.hashlife.Node;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+
+/**
+ * This task computes all the generations of a board with {@link HashLife}. The generations are computed by jumps of
+ * {@code 2^k} generations, where {@code k} is limited by {@code maxStep}; the cache is collected between the jumps.
+ * The result is a single full-board {@link BoardChunk}.
+ */
+public class HashLifeTask extends ATask<BoardChunk> {
+
+	@Dependency
+	private ATask<Board> boardTask;
+	private final int iterations;
+	private final int maxStep;
+	private final int parallelism;
+	private final int cacheSize;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param boardTask   The task that returns the initial board
+	 * @param iterations  Number of generations to be computed
+	 * @param maxStep     Binary logarithm of the largest jump
+	 * @param parallelism Number of subtrees to be evaluated in parallel
+	 * @param cacheSize   Number of canonical nodes above which the cache is collected
+	 */
+	public HashLifeTask(ATask<Board> boardTask, int iterations, int maxStep, int parallelism, int cacheSize) {
+		this.boardTask = boardTask;
+		this.iterations = iterations;
+		this.maxStep = maxStep;
+		this.parallelism = parallelism;
+		this.cacheSize = cacheSize;
+	}
+
+	@Override
+	protected BoardChunk compute() throws Exception {
+		Board board = boardTask.call();
+		GameOfLifeContext ctx = GameOfLifeContext.getContext();
+
+		HashLife hashLife = new HashLife(parallelism, cacheSize);
+		Node region = hashLife.fromBoard(board);
+
+		int remaining = iterations;
+		while (remaining > 0) {
+			int step = Math.min(Integer.SIZE - 1 - Integer.numberOfLeadingZeros(remaining), maxStep);
+			region = hashLife.advance(region, step);
+			hashLife.collect(region);
+
+			remaining -= 1 << step;
+			// There is no fixed flow, all of them have progressed
+			for (int i = 0; i < ctx.getParallelism(); ++i) {
+				ctx.addProgress(i, 1 << step);
+			}
+		}
+
+		return hashLife.toBoard(region, board.width(), board.height()).getChunk(0, board.width());
+	}
+}
@@ -0,0 +1,79 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.Halo;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.Neighbourhood;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
+import java.util.concurrent.Future;
+
+/**
+ * This class represents the second half of the boundary-first computation of a stripe: once the
+ * {@link BorderComputeTask border task} is done, it computes all the columns but the first and the last ones. The
+ * interior columns only depend on the previous generation of the same stripe.
+ */
+public class InteriorComputeTask extends ATask<BoardChunk> {
+
+	@Dependency
+	private ATask<Halo> borderTask;
+	@Dependency
+	private ATask<BoardChunk> sameTask;
+	private final int idx;
+	private final AKernel kernel;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param borderTask The task that computes the border columns of the same chunk
+	 * @param sameTask   The task that returns the same chunk of the previous generation
+	 * @param idx        The chunk index
+	 * @param kernel     The kernel used to compute the next generation
+	 */
+	public InteriorComputeTask(ATask<Halo> borderTask, ATask<BoardChunk> sameTask, int idx, AKernel kernel) {
+		this.borderTask = borderTask;
+		this.sameTask = sameTask;
+		this.idx = idx;
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Get the task that computes and publishes the border columns of the chunk. The neighbour stripes of the next
+	 * generation should depend on it rather than on this task.
+	 *
+	 * @return The border task
+	 */
+	public ATask<Halo> getBorderTask() {
+		return borderTask;
+	}
+
+	@Override
+	protected BoardChunk compute() throws Exception {
+		BoardChunk sameChunk;
+
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			var forker = new TaskForker<>(scope);
+			forker.fork(borderTask);
+			Future<BoardChunk> sameFuture = forker.fork(sameTask);
+
+			Future<Void> listened = forker.done();
+			scope.join().throwIfFailed();
+			listened.get();
+
+			sameChunk = sameFuture.resultNow();
+		}
+
+		BoardChunk result = sameChunk.nextChunk();
+		int stripeWidth = sameChunk.getStripeWidth();
+		if (stripeWidth > 2) {
+			// The neighbour columns are never read: columns -1 and stripeWidth are not adjacent to the interior
+			kernel.fill(result, new Neighbourhood(sameChunk, null, null), 1, stripeWidth - 1);
+		}
+
+		GameOfLifeContext.getContext().incProgress(idx);
+
+		return result;
+	}
+}
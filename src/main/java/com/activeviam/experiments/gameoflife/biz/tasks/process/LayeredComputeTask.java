@@ -0,0 +1,134 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This task builds the generation layers of the workflow on demand. The layers are built by blocks of
+ * {@code window} layers: the next block is built on top of the running one, and the driver waits for the running
+ * block to complete before building another one. Thus, at most two blocks of tasks are alive at any time, whatever
+ * the number of layers, and the computation starts as soon as the first block is built.
+ * <p>
+ * The result is the list of chunks of the last layer, see {@link #build} to get the tasks of the individual chunks.
+ */
+public class LayeredComputeTask extends ATask<List<BoardChunk>> {
+
+	/**
+	 * This interface is used to build a layer of the workflow.
+	 */
+	@FunctionalInterface
+	public interface LayerFactory {
+
+		/**
+		 * Build the tasks of a layer.
+		 *
+		 * @param lastLayer The tasks of the previous layer
+		 * @param layer     Index of the layer to be built, starting at {@code 0}
+		 * @return The tasks of the new layer
+		 */
+		List<ATask<BoardChunk>> build(List<ATask<BoardChunk>> lastLayer, int layer);
+	}
+
+	@Dependency
+	private List<ATask<BoardChunk>> initialLayer;
+	private final int layers;
+	private final int window;
+	private final LayerFactory factory;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param initialLayer The tasks that return the initial chunks
+	 * @param layers       Number of layers to be built
+	 * @param window       Number of layers built at once
+	 * @param factory      The factory of the layers
+	 */
+	public LayeredComputeTask(List<ATask<BoardChunk>> initialLayer, int layers, int window, LayerFactory factory) {
+		if (window <= 0) {
+			throw new IllegalArgumentException("Window must be positive");
+		}
+
+		this.initialLayer = initialLayer;
+		this.layers = layers;
+		this.window = window;
+		this.factory = factory;
+	}
+
+	/**
+	 * Build the tasks that return the chunks of the last layer.
+	 *
+	 * @param initialLayer The tasks that return the initial chunks
+	 * @param layers       Number of layers to be built
+	 * @param window       Number of layers built at once
+	 * @param factory      The factory of the layers
+	 * @return A task per chunk, all of them share a single {@link LayeredComputeTask}
+	 */
+	public static List<ATask<BoardChunk>> build(List<ATask<BoardChunk>> initialLayer, int layers, int window,
+			LayerFactory factory) {
+		LayeredComputeTask driver = new LayeredComputeTask(initialLayer, layers, window, factory);
+
+		List<ATask<BoardChunk>> tasks = new ArrayList<>(initialLayer.size());
+		for (int i = 0; i < initialLayer.size(); ++i) {
+			tasks.add(new ChunkTask(driver, i));
+		}
+		return tasks;
+	}
+
+	@Override
+	protected List<BoardChunk> compute() throws Exception {
+		List<ATask<BoardChunk>> lastLayer = initialLayer;
+
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			List<ATask<BoardChunk>> runningLayer = null;
+			int layer = 0;
+			while (layer < layers) {
+				int end = Math.min(layer + window, layers);
+				for (; layer < end; ++layer) {
+					lastLayer = factory.build(lastLayer, layer);
+				}
+
+				for (ATask<BoardChunk> task : lastLayer) {
+					scope.fork(task);
+				}
+
+				if (runningLayer != null) {
+					awaitAll(runningLayer);
+				}
+				runningLayer = lastLayer;
+			}
+
+			scope.join().throwIfFailed();
+		}
+
+		return awaitAll(lastLayer);
+	}
+
+	private static List<BoardChunk> awaitAll(List<ATask<BoardChunk>> tasks) throws Exception {
+		List<BoardChunk> chunks = new ArrayList<>(tasks.size());
+		for (ATask<BoardChunk> task : tasks) {
+			chunks.add(task.call());
+		}
+		return chunks;
+	}
+
+	private static class ChunkTask extends ATask<BoardChunk> {
+
+		@Dependency
+		private ATask<List<BoardChunk>> driver;
+		private final int idx;
+
+		public ChunkTask(ATask<List<BoardChunk>> driver, int idx) {
+			this.driver = driver;
+			this.idx = idx;
+		}
+
+		@Override
+		protected BoardChunk compute() throws Exception {
+			return driver.call().get(idx);
+		}
+	}
+}
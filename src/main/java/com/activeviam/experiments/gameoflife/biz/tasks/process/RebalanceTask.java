@@ -0,0 +1,124 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.StripeBalancer;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * This task moves the boundaries of the stripes between two generations, see {@link StripeBalancer}. The columns
+ * migrate to the neighbour stripes without being copied: a stripe whose boundaries moved gets a new ring made of the
+ * columns it covers and a new buffer, the other stripes keep their rings.
+ * <p>
+ * The task depends on all the stripes, so every rebalancing is a barrier of the workflow. The result is the list of
+ * chunks of the same generation, see {@link #build} to get the tasks of the individual chunks.
+ */
+public class RebalanceTask extends ATask<List<BoardChunk>> {
+
+	@Dependency
+	private List<ATask<BoardChunk>> chunkTasks;
+	private final StripeBalancer balancer;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param chunkTasks The tasks that return the chunks of a generation, from left to right
+	 * @param balancer   The balancer shared by all the rebalancing tasks of the workflow
+	 */
+	public RebalanceTask(List<ATask<BoardChunk>> chunkTasks, StripeBalancer balancer) {
+		this.chunkTasks = chunkTasks;
+		this.balancer = balancer;
+	}
+
+	/**
+	 * Build the tasks that return the rebalanced chunks.
+	 *
+	 * @param chunkTasks The tasks that return the chunks of a generation, from left to right
+	 * @param balancer   The balancer shared by all the rebalancing tasks of the workflow
+	 * @return A task per chunk, all of them share a single {@link RebalanceTask}
+	 */
+	public static List<ATask<BoardChunk>> build(List<ATask<BoardChunk>> chunkTasks, StripeBalancer balancer) {
+		RebalanceTask rebalance = new RebalanceTask(chunkTasks, balancer);
+
+		List<ATask<BoardChunk>> tasks = new ArrayList<>(chunkTasks.size());
+		for (int i = 0; i < chunkTasks.size(); ++i) {
+			tasks.add(new ChunkTask(rebalance, i));
+		}
+		return tasks;
+	}
+
+	@Override
+	protected List<BoardChunk> compute() throws Exception {
+		List<BoardChunk> chunks = new ArrayList<>(chunkTasks.size());
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			var forker = new TaskForker<>(scope);
+			List<Future<BoardChunk>> futures = new ArrayList<>(chunkTasks.size());
+			for (ATask<BoardChunk> chunkTask : chunkTasks) {
+				futures.add(forker.fork(chunkTask));
+			}
+
+			Future<Void> listened = forker.done();
+			scope.join().throwIfFailed();
+			listened.get();
+
+			for (Future<BoardChunk> future : futures) {
+				chunks.add(future.resultNow());
+			}
+		}
+
+		int[] boundaries = new int[chunks.size() + 1];
+		for (int i = 0; i < chunks.size(); ++i) {
+			boundaries[i] = chunks.get(i).getBeginWidth();
+		}
+		boundaries[chunks.size()] = chunks.get(chunks.size() - 1).getEndWidth();
+
+		int[] newBoundaries = balancer.balance(boundaries);
+		if (newBoundaries == boundaries) {
+			return chunks;
+		}
+
+		BoardChunk first = chunks.get(0);
+		long[][] columns = new long[first.getWidth()][];
+		for (BoardChunk chunk : chunks) {
+			System.arraycopy(chunk.getData(), 0, columns, chunk.getBeginWidth(), chunk.getStripeWidth());
+		}
+
+		List<BoardChunk> result = new ArrayList<>(chunks.size());
+		for (int i = 0; i < chunks.size(); ++i) {
+			int beginWidth = newBoundaries[i];
+			int endWidth = newBoundaries[i + 1];
+			if (beginWidth == boundaries[i] && endWidth == boundaries[i + 1]) {
+				result.add(chunks.get(i));
+			} else {
+				// The activity of the new chunk is unknown, so its first generation is computed in full
+				BoardChunk chunk = new BoardChunk(first.getWidth(), first.getHeight(), beginWidth, endWidth,
+						Arrays.copyOfRange(columns, beginWidth, endWidth));
+				result.add(BoardChunk.ring(chunk, 2));
+			}
+		}
+		return result;
+	}
+
+	private static class ChunkTask extends ATask<BoardChunk> {
+
+		@Dependency
+		private ATask<List<BoardChunk>> rebalance;
+		private final int idx;
+
+		public ChunkTask(ATask<List<BoardChunk>> rebalance, int idx) {
+			this.rebalance = rebalance;
+			this.idx = idx;
+		}
+
+		@Override
+		protected BoardChunk compute() throws Exception {
+			return rebalance.call().get(idx);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
+import com.activeviam.experiments.gameoflife.biz.board.Board;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.Neighbourhood;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This task computes all the generations on a {@link ForkJoinPool}: the board is double-buffered, and every
+ * generation is split recursively into regions until they have at most {@code threshold} packed words. The idle
+ * workers steal the pending regions, so the uneven regions are balanced without any planning. All the generations
+ * are computed by a single root task submitted to the pool, so the caller thread does not wait for every generation.
+ * <p>
+ * The workers of a {@link ForkJoinPool} are always {@link java.util.concurrent.ForkJoinWorkerThread platform
+ * threads}, the thread factory of the workflow is not used.
+ * <p>
+ * The result is a single full-board {@link BoardChunk}.
+ */
+public class RecursiveComputeTask extends ATask<BoardChunk> {
+
+	@Dependency
+	private ATask<Board> boardTask;
+	private final int iterations;
+	private final int parallelism;
+	private final int threshold;
+	private final AKernel kernel;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param boardTask   The task that returns the initial board
+	 * @param iterations  Number of generations to be computed
+	 * @param parallelism Number of workers of the pool
+	 * @param threshold   Number of packed words below which a region is not split
+	 * @param kernel      The kernel used to compute the next generations
+	 */
+	public RecursiveComputeTask(ATask<Board> boardTask, int iterations, int parallelism, int threshold,
+			AKernel kernel) {
+		if (threshold <= 0) {
+			throw new IllegalArgumentException("Threshold must be positive");
+		}
+
+		this.boardTask = boardTask;
+		this.iterations = iterations;
+		this.parallelism = parallelism;
+		this.threshold = threshold;
+		this.kernel = kernel;
+	}
+
+	@Override
+	protected BoardChunk compute() throws Exception {
+		Board board = boardTask.call();
+		GameOfLifeContext ctx = GameOfLifeContext.getContext();
+
+		BoardChunk initial = BoardChunk.ring(board.getChunk(0, board.width()), 2);
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(new Generations(initial, ctx));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * The root task: computes the generations one after another, each of them is split into regions.
+	 */
+	private class Generations extends RecursiveTask<BoardChunk> {
+
+		private final BoardChunk initial;
+		// The workers of the pool are not forked in a scope, they do not inherit the context
+		private final GameOfLifeContext ctx;
+
+		Generations(BoardChunk initial, GameOfLifeContext ctx) {
+			this.initial = initial;
+			this.ctx = ctx;
+		}
+
+		@Override
+		protected BoardChunk compute() {
+			BoardChunk source = initial;
+			for (int generation = 1; generation <= iterations; ++generation) {
+				BoardChunk target = source.nextChunk();
+				Neighbourhood neighbourhood = new Neighbourhood(source, null, null);
+				new Region(target, neighbourhood, 0, target.getStripeWidth(), 0, target.getWordsPerColumn()).invoke();
+				source = target;
+
+				// There is no fixed flow, all of them have progressed
+				for (int i = 0; i < ctx.getParallelism(); ++i) {
+					ctx.incProgress(i);
+				}
+			}
+			return source;
+		}
+	}
+
+	private class Region extends RecursiveAction {
+
+		private final BoardChunk target;
+		private final Neighbourhood neighbourhood;
+		private final int fromX;
+		private final int toX;
+		private final int fromWord;
+		private final int toWord;
+
+		Region(BoardChunk target, Neighbourhood neighbourhood, int fromX, int toX, int fromWord, int toWord) {
+			this.target = target;
+			this.neighbourhood = neighbourhood;
+			this.fromX = fromX;
+			this.toX = toX;
+			this.fromWord = fromWord;
+			this.toWord = toWord;
+		}
+
+		@Override
+		protected void compute() {
+			int columns = toX - fromX;
+			int words = toWord - fromWord;
+			if (columns == 0 || words == 0) {
+				return;
+			}
+
+			if ((long) columns * words <= threshold || columns == 1 && words == 1) {
+				kernel.fill(target, neighbourhood, fromX, toX, fromWord, toWord);
+				return;
+			}
+
+			// Split the longest side in cells, so that the regions stay roughly square
+			if (columns >= (long) words * Bits.WORD_SIZE || words == 1) {
+				int middle = fromX + columns / 2;
+				invokeAll(
+						new Region(target, neighbourhood, fromX, middle, fromWord, toWord),
+						new Region(target, neighbourhood, middle, toX, fromWord, toWord));
+			} else {
+				int middle = fromWord + words / 2;
+				invokeAll(
+						new Region(target, neighbourhood, fromX, toX, fromWord, middle),
+						new Region(target, neighbourhood, fromX, toX, middle, toWord));
+			}
+		}
+	}
+}
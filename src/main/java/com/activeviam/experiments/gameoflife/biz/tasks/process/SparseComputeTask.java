@@ -0,0 +1,125 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.Utils;
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
+import com.activeviam.experiments.gameoflife.biz.board.SparseChunk;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
+import com.activeviam.experiments.gameoflife.util.LongIntHashMap;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+
+/**
+ * This class represents the Game Of Life computation task of a stripe of a {@link SparseBoard}. Only the live cells
+ * are visited: every live cell adds its weight to the cells of its 3x3 neighbourhood that lie in the stripe, and
+ * the sums decide the next generation. The live cells of the adjacent columns are taken from the neighbour stripes.
+ */
+public class SparseComputeTask extends ATask<SparseChunk> {
+
+	/**
+	 * Weight of a live cell for its neighbours. A live cell also adds {@code 1} to itself, so that the sum of a cell
+	 * is {@code 2 * neighbours + (isAlive ? 1 : 0)}.
+	 */
+	private static final int NEIGHBOUR_WEIGHT = 2;
+
+	@Dependency
+	private ATask<SparseChunk> prevTask;
+	@Dependency
+	private ATask<SparseChunk> sameTask;
+	@Dependency
+	private ATask<SparseChunk> nextTask;
+	private final int idx;
+
+	/**
+	 * Constructs a new computation task.
+	 *
+	 * @param prevTask The task that returns the left-neighbour chunk of the previous generation (may be null)
+	 * @param sameTask The task that returns the same chunk of the previous generation
+	 * @param nextTask The task that returns the right-neighbour chunk of the previous generation (may be null)
+	 * @param idx      The chunk index
+	 */
+	public SparseComputeTask(ATask<SparseChunk> prevTask, ATask<SparseChunk> sameTask, ATask<SparseChunk> nextTask,
+			int idx) {
+		this.prevTask = prevTask;
+		this.sameTask = sameTask;
+		this.nextTask = nextTask;
+		this.idx = idx;
+	}
+
+	@Override
+	protected SparseChunk compute() throws Exception {
+		SparseChunk prevChunk;
+		SparseChunk sameChunk;
+		SparseChunk nextChunk;
+
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			var forker = new TaskForker<>(scope);
+			Future<SparseChunk> prevFuture = Utils.forkOrDefault(forker, prevTask, null);
+			Future<SparseChunk> sameFuture = forker.fork(sameTask);
+			Future<SparseChunk> nextFuture = Utils.forkOrDefault(forker, nextTask, null);
+
+			Future<Void> listened = forker.done();
+			scope.join().throwIfFailed();
+			listened.get();
+
+			prevChunk = prevFuture.resultNow();
+			sameChunk = sameFuture.resultNow();
+			nextChunk = nextFuture.resultNow();
+		}
+
+		int beginWidth = sameChunk.beginWidth();
+		int endWidth = sameChunk.endWidth();
+		LongIntHashMap sums = new LongIntHashMap(sameChunk.cells().length * 4);
+
+		if (prevChunk != null) {
+			long[] cells = prevChunk.cells();
+			addCells(sums, sameChunk, cells, SparseBoard.columnStart(cells, beginWidth - 1), cells.length);
+		}
+		addCells(sums, sameChunk, sameChunk.cells(), 0, sameChunk.cells().length);
+		if (nextChunk != null) {
+			long[] cells = nextChunk.cells();
+			addCells(sums, sameChunk, cells, 0, SparseBoard.columnStart(cells, endWidth + 1));
+		}
+
+		long[] cells = new long[sums.size()];
+		int count = 0;
+		for (int slot = 0; slot < sums.capacity(); ++slot) {
+			int sum = sums.valueAt(slot);
+			// 2 neighbours and alive, 3 neighbours and either dead or alive
+			if (sum == 2 * NEIGHBOUR_WEIGHT + 1 || sum == 3 * NEIGHBOUR_WEIGHT || sum == 3 * NEIGHBOUR_WEIGHT + 1) {
+				cells[count++] = sums.keyAt(slot);
+			}
+		}
+		cells = Arrays.copyOf(cells, count);
+		Arrays.sort(cells);
+
+		GameOfLifeContext.getContext().incProgress(idx);
+
+		return new SparseChunk(sameChunk.width(), sameChunk.height(), beginWidth, endWidth, cells);
+	}
+
+	private static void addCells(LongIntHashMap sums, SparseChunk chunk, long[] cells, int from, int to) {
+		for (int i = from; i < to; ++i) {
+			int x = SparseBoard.x(cells[i]);
+			int y = SparseBoard.y(cells[i]);
+
+			for (int dx = -1; dx <= 1; ++dx) {
+				int nx = x + dx;
+				if (nx < chunk.beginWidth() || nx >= chunk.endWidth()) {
+					continue;
+				}
+
+				for (int dy = -1; dy <= 1; ++dy) {
+					int ny = y + dy;
+					if (ny < 0 || ny >= chunk.height()) {
+						continue;
+					}
+
+					sums.add(SparseBoard.key(nx, ny), dx == 0 && dy == 0 ? 1 : NEIGHBOUR_WEIGHT);
+				}
+			}
+		}
+	}
+}
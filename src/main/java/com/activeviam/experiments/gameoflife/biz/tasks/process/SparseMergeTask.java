@@ -0,0 +1,65 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
+import com.activeviam.experiments.gameoflife.biz.board.SparseChunk;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * This task assembles a {@link SparseBoard} from its stripes.
+ */
+public class SparseMergeTask extends ATask<SparseBoard> {
+
+	@Dependency
+	private List<ATask<SparseChunk>> chunkTasks;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param chunkTasks The tasks that return the stripes of the board, from left to right
+	 */
+	public SparseMergeTask(List<ATask<SparseChunk>> chunkTasks) {
+		this.chunkTasks = chunkTasks;
+	}
+
+	@Override
+	protected SparseBoard compute() throws Exception {
+		SparseChunk[] chunks = new SparseChunk[chunkTasks.size()];
+
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			var forker = new TaskForker<>(scope);
+			List<Future<SparseChunk>> futures = new ArrayList<>(chunkTasks.size());
+			for (ATask<SparseChunk> chunkTask : chunkTasks) {
+				futures.add(forker.fork(chunkTask));
+			}
+
+			Future<Void> listened = forker.done();
+			scope.join().throwIfFailed();
+			listened.get();
+
+			for (int i = 0; i < chunks.length; ++i) {
+				chunks[i] = futures.get(i).resultNow();
+			}
+		}
+
+		int count = 0;
+		for (SparseChunk chunk : chunks) {
+			count += chunk.cells().length;
+		}
+
+		// The stripes are ordered by columns, so the concatenation is sorted
+		long[] cells = new long[count];
+		int offset = 0;
+		for (SparseChunk chunk : chunks) {
+			System.arraycopy(chunk.cells(), 0, cells, offset, chunk.cells().length);
+			offset += chunk.cells().length;
+		}
+
+		return new SparseBoard(chunks[0].width(), chunks[0].height(), cells);
+	}
+}
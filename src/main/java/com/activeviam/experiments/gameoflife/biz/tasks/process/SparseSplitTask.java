@@ -0,0 +1,43 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
+import com.activeviam.experiments.gameoflife.biz.board.SparseChunk;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+
+/**
+ * This task extracts a stripe of a sparse board that will be processed by consequent
+ * {@link SparseComputeTask computation tasks}.
+ */
+public class SparseSplitTask extends ATask<SparseChunk> {
+
+	@Dependency
+	private ATask<SparseBoard> retrieve;
+	private final int idx;
+	private final int parallelism;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param retrieve    The task that returns the initial board
+	 * @param idx         The chunk index
+	 * @param parallelism The number of chunks
+	 */
+	public SparseSplitTask(ATask<SparseBoard> retrieve, int idx, int parallelism) {
+		this.retrieve = retrieve;
+		this.idx = idx;
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	protected SparseChunk compute() throws Exception {
+		SparseBoard board = retrieve.call();
+
+		int width = board.width();
+		int stripeWidth = SplitTask.stripeWidth(width, parallelism);
+		int beginWidth = Math.min(width, idx * stripeWidth);
+		int endWidth = Math.min(width, beginWidth + stripeWidth);
+
+		return SparseChunk.of(board, beginWidth, endWidth);
+	}
+}
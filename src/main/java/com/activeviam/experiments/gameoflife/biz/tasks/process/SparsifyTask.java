@@ -0,0 +1,54 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.Board;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * This task assembles the chunks of the dense engine into a {@link SparseBoard}, so that it can be consumed by the
+ * tasks of the sparse engine (e.g. export tasks).
+ */
+public class SparsifyTask extends ATask<SparseBoard> {
+
+	@Dependency
+	private List<ATask<BoardChunk>> chunkTasks;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param chunkTasks The tasks that return the chunks of the board
+	 */
+	public SparsifyTask(List<ATask<BoardChunk>> chunkTasks) {
+		this.chunkTasks = chunkTasks;
+	}
+
+	@Override
+	protected SparseBoard compute() throws Exception {
+		BoardChunk[] chunks = new BoardChunk[chunkTasks.size()];
+
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			var forker = new TaskForker<>(scope);
+			List<Future<BoardChunk>> futures = new ArrayList<>(chunkTasks.size());
+			for (ATask<BoardChunk> chunkTask : chunkTasks) {
+				futures.add(forker.fork(chunkTask));
+			}
+
+			Future<Void> listened = forker.done();
+			scope.join().throwIfFailed();
+			listened.get();
+
+			for (int i = 0; i < chunks.length; ++i) {
+				chunks[i] = futures.get(i).resultNow();
+			}
+		}
+
+		return SparseBoard.of(Board.merge(chunks));
+	}
+}
@@ -1,5 +1,6 @@
 package com.activeviam.experiments.gameoflife.biz.tasks.process;
 
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
 import com.activeviam.experiments.gameoflife.biz.board.Board;
 import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
 import com.activeviam.experiments.gameoflife.task.ATask;
@@ -12,20 +13,60 @@ public class SplitTask extends ATask<BoardChunk> {
 
 	@Dependency
 	private ATask<Board> retrieve;
-	private final int idx;
-	private final int parallelism;
+	private final int column;
+	private final int columns;
+	private final int row;
+	private final int rows;
 
 	/**
-	 * Constructs a new task.
+	 * Constructs a new task that extracts a tile.
+	 *
+	 * @param retrieve The task that returns the initial board
+	 * @param column   The tile column index
+	 * @param columns  The number of tile columns
+	 * @param row      The tile row index
+	 * @param rows     The number of tile rows
+	 */
+	public SplitTask(ATask<Board> retrieve, int column, int columns, int row, int rows) {
+		this.retrieve = retrieve;
+		this.column = column;
+		this.columns = columns;
+		this.row = row;
+		this.rows = rows;
+	}
+
+	/**
+	 * Constructs a new task that extracts a full-height stripe.
 	 *
 	 * @param retrieve    The task that returns the initial board
 	 * @param idx         The chunk index
 	 * @param parallelism The number of chunks
 	 */
 	public SplitTask(ATask<Board> retrieve, int idx, int parallelism) {
-		this.retrieve = retrieve;
-		this.idx = idx;
-		this.parallelism = parallelism;
+		this(retrieve, idx, parallelism, 0, 1);
+	}
+
+	/**
+	 * Get the width of the stripes when the board is split into several columns.
+	 *
+	 * @param width   Board width
+	 * @param columns Number of columns
+	 * @return Stripe width
+	 */
+	public static int stripeWidth(int width, int columns) {
+		return (width + columns - 1) / columns;
+	}
+
+	/**
+	 * Get the height of the tiles when the board is split into several rows. Tiles begin at word boundaries, so the
+	 * height is rounded up to a multiple of {@link Bits#WORD_SIZE}.
+	 *
+	 * @param height Board height
+	 * @param rows   Number of rows
+	 * @return Tile height
+	 */
+	public static int tileHeight(int height, int rows) {
+		return Bits.words((height + rows - 1) / rows) * Bits.WORD_SIZE;
 	}
 
 	@Override
@@ -33,10 +74,15 @@ public class SplitTask extends ATask<BoardChunk> {
 		Board board = retrieve.call();
 
 		int width = board.width();
-		int stripeWidth = (width + parallelism - 1) / parallelism;
-		int beginWidth = Math.min(width, idx * stripeWidth);
+		int stripeWidth = stripeWidth(width, columns);
+		int beginWidth = Math.min(width, column * stripeWidth);
 		int endWidth = Math.min(width, beginWidth + stripeWidth);
 
-		return BoardChunk.ring(board.getChunk(beginWidth, endWidth), 2);
+		int height = board.height();
+		int tileHeight = tileHeight(height, rows);
+		int beginHeight = Math.min(height, row * tileHeight);
+		int endHeight = Math.min(height, beginHeight + tileHeight);
+
+		return BoardChunk.ring(board.getChunk(beginWidth, endWidth, beginHeight, endHeight), 2);
 	}
 }
@@ -0,0 +1,186 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.board.Halo;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.Neighbourhood;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.util.SpscChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * This task computes all the generations with one long-lived thread per stripe instead of a task per stripe and
+ * generation. Every stripe owns its ring of chunks and sends {@link Halo halos} to its neighbours through
+ * {@link SpscChannel single-producer single-consumer channels}. The halos are {@code maxDrift} columns deep and are
+ * exchanged every {@code maxDrift} generations: in between, a stripe computes its generations along with the shrinking
+ * halos of its neighbours, like {@link ComputeTask temporal blocking}. Thus, a stripe may compute up to
+ * {@code maxDrift} generations ahead of its neighbours, at the cost of redundant computation of the halos.
+ * <p>
+ * The result is the list of chunks of the last generation, see {@link #build} to get the tasks of the individual
+ * chunks.
+ */
+public class StripeActorsTask extends ATask<List<BoardChunk>> {
+
+	private static final int CHANNEL_CAPACITY = 2;
+
+	@Dependency
+	private List<ATask<BoardChunk>> initialChunks;
+	private final int iterations;
+	private final int maxDrift;
+	private final AKernel kernel;
+
+	/**
+	 * Constructs a new task.
+	 *
+	 * @param initialChunks The tasks that return the initial chunks, from left to right
+	 * @param iterations    Number of generations to be computed
+	 * @param maxDrift      Maximal number of generations between neighbour stripes, must not exceed the width of
+	 *                      the narrowest stripe
+	 * @param kernel        The kernel used to compute the next generations
+	 */
+	public StripeActorsTask(List<ATask<BoardChunk>> initialChunks, int iterations, int maxDrift, AKernel kernel) {
+		if (maxDrift <= 0) {
+			throw new IllegalArgumentException("Maximal drift must be positive");
+		}
+
+		this.initialChunks = initialChunks;
+		this.iterations = iterations;
+		this.maxDrift = maxDrift;
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Build the tasks that return the chunks of the last generation.
+	 *
+	 * @param initialChunks The tasks that return the initial chunks, from left to right
+	 * @param iterations    Number of generations to be computed
+	 * @param maxDrift      Maximal number of generations between neighbour stripes, must not exceed the width of
+	 *                      the narrowest stripe
+	 * @param kernel        The kernel used to compute the next generations
+	 * @return A task per chunk, all of them share a single {@link StripeActorsTask}
+	 */
+	public static List<ATask<BoardChunk>> build(List<ATask<BoardChunk>> initialChunks, int iterations, int maxDrift,
+			AKernel kernel) {
+		StripeActorsTask actors = new StripeActorsTask(initialChunks, iterations, maxDrift, kernel);
+
+		List<ATask<BoardChunk>> tasks = new ArrayList<>(initialChunks.size());
+		for (int i = 0; i < initialChunks.size(); ++i) {
+			tasks.add(new ChunkTask(actors, i));
+		}
+		return tasks;
+	}
+
+	@Override
+	protected List<BoardChunk> compute() throws Exception {
+		int stripes = initialChunks.size();
+
+		// toLeft[i] carries the halos of stripe i + 1 to stripe i, toRight[i] those of stripe i to stripe i + 1. A
+		// stripe sends the next halo only once it has received the current one of its neighbour, so two halos at most
+		// are in flight.
+		List<SpscChannel<Halo>> toLeft = new ArrayList<>(stripes - 1);
+		List<SpscChannel<Halo>> toRight = new ArrayList<>(stripes - 1);
+		for (int i = 0; i < stripes - 1; ++i) {
+			toLeft.add(new SpscChannel<>(CHANNEL_CAPACITY));
+			toRight.add(new SpscChannel<>(CHANNEL_CAPACITY));
+		}
+
+		List<BoardChunk> chunks = new ArrayList<>(stripes);
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			List<Future<BoardChunk>> futures = new ArrayList<>(stripes);
+			for (int i = 0; i < stripes; ++i) {
+				Actor actor = new Actor(
+						i,
+						initialChunks.get(i),
+						i > 0 ? toRight.get(i - 1) : null,
+						i < stripes - 1 ? toLeft.get(i) : null,
+						i > 0 ? toLeft.get(i - 1) : null,
+						i < stripes - 1 ? toRight.get(i) : null);
+				futures.add(scope.fork(actor::run));
+			}
+
+			scope.join().throwIfFailed();
+
+			for (Future<BoardChunk> future : futures) {
+				chunks.add(future.resultNow());
+			}
+		}
+		return chunks;
+	}
+
+	private class Actor {
+
+		private final int idx;
+		private final ATask<BoardChunk> initialChunk;
+		private final SpscChannel<Halo> fromLeft;
+		private final SpscChannel<Halo> fromRight;
+		private final SpscChannel<Halo> toLeft;
+		private final SpscChannel<Halo> toRight;
+
+		Actor(int idx, ATask<BoardChunk> initialChunk, SpscChannel<Halo> fromLeft, SpscChannel<Halo> fromRight,
+				SpscChannel<Halo> toLeft, SpscChannel<Halo> toRight) {
+			this.idx = idx;
+			this.initialChunk = initialChunk;
+			this.fromLeft = fromLeft;
+			this.fromRight = fromRight;
+			this.toLeft = toLeft;
+			this.toRight = toRight;
+		}
+
+		BoardChunk run() throws Exception {
+			GameOfLifeContext ctx = GameOfLifeContext.getContext();
+			BoardChunk chunk = initialChunk.call();
+
+			for (int generation = 0; generation < iterations; generation += maxDrift) {
+				int generations = Math.min(maxDrift, iterations - generation);
+				publish(Halo.of(chunk, generations));
+
+				Halo west = fromLeft != null ? fromLeft.take() : null;
+				Halo east = fromRight != null ? fromRight.take() : null;
+
+				BoardChunk next = chunk.nextChunk();
+				if (generations == 1) {
+					kernel.fill(next, new Neighbourhood(chunk, west != null ? west.lastColumn() : null,
+							east != null ? east.firstColumn() : null));
+				} else {
+					ComputeTask.fillGenerations(kernel, generations, next, west, chunk, east);
+				}
+				chunk = next;
+
+				ctx.addProgress(idx, generations);
+			}
+
+			return chunk;
+		}
+
+		private void publish(Halo halo) throws InterruptedException {
+			// The halo is a copy, the neighbours may read it while the chunk buffer is reused
+			if (toLeft != null) {
+				toLeft.put(halo);
+			}
+			if (toRight != null) {
+				toRight.put(halo);
+			}
+		}
+	}
+
+	private static class ChunkTask extends ATask<BoardChunk> {
+
+		@Dependency
+		private ATask<List<BoardChunk>> actors;
+		private final int idx;
+
+		public ChunkTask(ATask<List<BoardChunk>> actors, int idx) {
+			this.actors = actors;
+			this.idx = idx;
+		}
+
+		@Override
+		protected BoardChunk compute() throws Exception {
+			return actors.call().get(idx);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.process;
+
+import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
+import com.activeviam.experiments.gameoflife.biz.Utils;
+import com.activeviam.experiments.gameoflife.biz.board.BoardChunk;
+import com.activeviam.experiments.gameoflife.biz.kernel.AKernel;
+import com.activeviam.experiments.gameoflife.biz.kernel.Neighbourhood;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
+import com.activeviam.experiments.gameoflife.task.TaskForker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * This class represents the Game Of Life computation task of a tile. Unlike {@link ComputeTask}, it depends on the
+ * previous generation of the 8 surrounding tiles.
+ */
+public class TileComputeTask extends ATask<BoardChunk> {
+
+	@Dependency
+	private List<ATask<BoardChunk>> tileTasks;
+	private final int idx;
+	private final AKernel kernel;
+
+	/**
+	 * Constructs a new computation task.
+	 *
+	 * @param tileTasks The tasks that return the 3x3 block of tiles of the previous generation around this tile, in
+	 *                  row-major order (see {@link Neighbourhood#of(BoardChunk[])}). Missing tiles are null.
+	 * @param idx       The tile index
+	 * @param kernel    The kernel used to compute the next generation
+	 */
+	public TileComputeTask(List<ATask<BoardChunk>> tileTasks, int idx, AKernel kernel) {
+		this.tileTasks = tileTasks;
+		this.idx = idx;
+		this.kernel = kernel;
+	}
+
+	@Override
+	protected BoardChunk compute() throws Exception {
+		BoardChunk[] tiles = new BoardChunk[tileTasks.size()];
+
+		try (var scope = GameOfLifeContext.getContext().newScope()) {
+			var forker = new TaskForker<>(scope);
+			List<Future<BoardChunk>> futures = new ArrayList<>(tiles.length);
+			for (ATask<BoardChunk> tileTask : tileTasks) {
+				futures.add(Utils.forkOrDefault(forker, tileTask, null));
+			}
+
+			Future<Void> listened = forker.done();
+			scope.join().throwIfFailed();
+			listened.get();
+
+			for (int i = 0; i < tiles.length; ++i) {
+				tiles[i] = futures.get(i).resultNow();
+			}
+		}
+
+		BoardChunk sameChunk = tiles[4];
+		BoardChunk result = sameChunk.nextChunk();
+		if (!sameChunk.isEmpty()) {
+			kernel.fill(result, Neighbourhood.of(tiles));
+			if (result.getActivity() != null) {
+				GameOfLifeContext.getContext().addSkippedCells(result.getActivity().getSkippedCells());
+			}
+		}
+
+		GameOfLifeContext.getContext().incProgress(idx);
+
+		return result;
+	}
+}
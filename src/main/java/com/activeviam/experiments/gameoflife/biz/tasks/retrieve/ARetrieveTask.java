@@ -1,9 +1,11 @@
 package com.activeviam.experiments.gameoflife.biz.tasks.retrieve;
 
 import com.activeviam.experiments.gameoflife.biz.board.Board;
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
 import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext;
 import com.activeviam.experiments.gameoflife.biz.GameOfLifeContext.ExecutionStage;
 import com.activeviam.experiments.gameoflife.task.ATask;
+import com.activeviam.experiments.gameoflife.task.Dependency;
 
 /**
  * This class represents an abstract task that retrieves the initial state of Game Of Life.
@@ -17,7 +19,12 @@ public abstract class ARetrieveTask extends ATask<Board> {
 		/**
 		 * Generate a random board of predefined dimensions. See {@link RandomRetrieveTask}.
 		 */
-		RANDOM
+		RANDOM,
+		/**
+		 * Scatter gliders over an empty board. Suitable for huge boards with the sparse engine. See
+		 * {@link GlidersRetrieveTask}.
+		 */
+		GLIDERS
 	}
 
 	/**
@@ -38,9 +45,43 @@ public abstract class ARetrieveTask extends ATask<Board> {
 	 * @return New retrieve task instance
 	 */
 	public static ARetrieveTask build(SourceConfig config) {
-		//noinspection SwitchStatementWithTooFewBranches
 		return switch (config.type) {
 			case RANDOM -> RandomRetrieveTask.build(config);
+			case GLIDERS -> GlidersRetrieveTask.build(config);
+		};
+	}
+
+	/**
+	 * Get the width of the board. It must be known before the board is retrieved, since it is used to plan the
+	 * computation.
+	 *
+	 * @return Board width
+	 */
+	public abstract int getWidth();
+
+	/**
+	 * Get the height of the board. It must be known before the board is retrieved, since it is used to plan the
+	 * computation.
+	 *
+	 * @return Board height
+	 */
+	public abstract int getHeight();
+
+	/**
+	 * Get a task that retrieves the initial state as a {@link SparseBoard}. By default, the board is retrieved by
+	 * this task and converted, the implementations that can produce the live cells directly should override it.
+	 *
+	 * @return A task that returns the live cells of the initial board
+	 */
+	public ATask<SparseBoard> sparse() {
+		return new ATask<>() {
+			@Dependency
+			private ATask<Board> boardTask = ARetrieveTask.this;
+
+			@Override
+			protected SparseBoard compute() throws Exception {
+				return SparseBoard.of(boardTask.call());
+			}
 		};
 	}
 
@@ -0,0 +1,140 @@
+package com.activeviam.experiments.gameoflife.biz.tasks.retrieve;
+
+import static com.activeviam.experiments.gameoflife.biz.Utils.parseArg;
+
+import com.activeviam.experiments.gameoflife.biz.board.Board;
+import com.activeviam.experiments.gameoflife.biz.board.SparseBoard;
+import com.activeviam.experiments.gameoflife.task.ATask;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class represents a retrieve task that scatters gliders with random positions and directions over an empty
+ * board. The gliders may overlap. Unlike {@link RandomRetrieveTask}, the board may be huge if it is retrieved as a
+ * {@link #sparse() sparse board}.
+ */
+public class GlidersRetrieveTask extends ARetrieveTask {
+
+	/**
+	 * The cells of a glider moving to the bottom right, as {@code {x, y}} pairs within a 3x3 box.
+	 */
+	private static final int[][] GLIDER = {{1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2}};
+	private static final int GLIDER_SIZE = 3;
+
+	private final int width;
+	private final int height;
+	private final int count;
+	private final long seed;
+
+	/**
+	 * Constructs a new GlidersRetrieveTask instance.
+	 *
+	 * @param width  Board width
+	 * @param height Board height
+	 * @param count  Number of gliders
+	 * @param seed   Random generator seed, see {@link Random#setSeed}.
+	 */
+	public GlidersRetrieveTask(int width, int height, int count, long seed) {
+		this.width = width;
+		this.height = height;
+		this.count = count;
+		this.seed = seed;
+	}
+
+	private record Parameters(int width, int height, int count, long seed) {
+
+	}
+
+
+	/**
+	 * Constructs a new {@link GlidersRetrieveTask} instance.
+	 *
+	 * @param config Retrieve task configuration
+	 * @return New task instance
+	 */
+	public static GlidersRetrieveTask build(SourceConfig config) {
+		Parameters params = tryParseParams(config);
+		return new GlidersRetrieveTask(params.width, params.height, params.count, params.seed);
+	}
+
+	private static Parameters tryParseParams(SourceConfig config) {
+		if (config.args() == null || config.args().length != 4) {
+			throw new IllegalArgumentException(
+					"Bad argument count, expected [<width>, <height>, <count>, <seed>], got "
+							+ Arrays.toString(config.args()));
+		}
+
+		int width = parseArg(config.args(), 0, Integer.class);
+		int height = parseArg(config.args(), 1, Integer.class);
+		int count = parseArg(config.args(), 2, Integer.class);
+		long seed = parseArg(config.args(), 3, Long.class);
+
+		if (width < GLIDER_SIZE) {
+			throw new IllegalArgumentException("width must be at least " + GLIDER_SIZE);
+		}
+		if (height < GLIDER_SIZE) {
+			throw new IllegalArgumentException("height must be at least " + GLIDER_SIZE);
+		}
+		if (count < 0) {
+			throw new IllegalArgumentException("count must not be negative");
+		}
+
+		return new Parameters(width, height, count, seed);
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	protected Board compute() {
+		startRetrieving();
+		Board board = generate().toBoard();
+		stopRetrieving();
+
+		return board;
+	}
+
+	@Override
+	public ATask<SparseBoard> sparse() {
+		return new ATask<>() {
+			@Override
+			protected SparseBoard compute() {
+				startRetrieving();
+				SparseBoard board = generate();
+				stopRetrieving();
+
+				return board;
+			}
+		};
+	}
+
+	private SparseBoard generate() {
+		Random random = new Random();
+		random.setSeed(seed);
+
+		long[] cells = new long[count * GLIDER.length];
+		for (int i = 0; i < count; ++i) {
+			int left = random.nextInt(width - GLIDER_SIZE + 1);
+			int top = random.nextInt(height - GLIDER_SIZE + 1);
+			boolean flipX = random.nextBoolean();
+			boolean flipY = random.nextBoolean();
+
+			for (int j = 0; j < GLIDER.length; ++j) {
+				int dx = flipX ? GLIDER_SIZE - 1 - GLIDER[j][0] : GLIDER[j][0];
+				int dy = flipY ? GLIDER_SIZE - 1 - GLIDER[j][1] : GLIDER[j][1];
+				cells[i * GLIDER.length + j] = SparseBoard.key(left + dx, top + dy);
+			}
+		}
+
+		// Overlapping gliders may share cells
+		Arrays.sort(cells);
+		return new SparseBoard(width, height, Arrays.stream(cells).distinct().toArray());
+	}
+}
@@ -3,6 +3,7 @@ package com.activeviam.experiments.gameoflife.biz.tasks.retrieve;
 import static com.activeviam.experiments.gameoflife.biz.Utils.parseArg;
 
 import com.activeviam.experiments.gameoflife.biz.board.Board;
+import com.activeviam.experiments.gameoflife.biz.board.Bits;
 import java.util.Arrays;
 import java.util.Random;
 
@@ -64,20 +65,33 @@ public class RandomRetrieveTask extends ARetrieveTask {
 		return new Parameters(width, height, seed);
 	}
 
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
 	@Override
 	protected Board compute() {
 		Random random = new Random();
 		random.setSeed(seed);
 
 		startRetrieving();
-		boolean[][] cells = new boolean[width][height];
+		Board board = new Board(width, height);
 		for (int i = 0; i < width; ++i) {
+			long[] column = board.cells()[i];
 			for (int j = 0; j < height; ++j) {
-				cells[i][j] = random.nextBoolean();
+				if (random.nextBoolean()) {
+					column[j / Bits.WORD_SIZE] |= 1L << (j % Bits.WORD_SIZE);
+				}
 			}
 		}
 		stopRetrieving();
 
-		return new Board(width, height, cells);
+		return board;
 	}
 }
@@ -1,13 +1,11 @@
 package com.activeviam.experiments.gameoflife.task;
 
-import java.util.Arrays;
-import java.util.Collection;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * An abstract task which represents one-shot computation. The result of this computation may be acquired by
@@ -17,10 +15,60 @@ import java.util.stream.Stream;
  */
 public abstract class ATask<V> implements Callable<V> {
 
-	private final AtomicBoolean startedFlag = new AtomicBoolean(false);
-	private final CountDownLatch done = new CountDownLatch(1);
-	private V result = null;
-	private Exception ex = null;
+	private static final VarHandle STATE;
+	private static final VarHandle CONSUMERS;
+
+	static {
+		try {
+			STATE = MethodHandles.lookup().findVarHandle(ATask.class, "state", Object.class);
+			CONSUMERS = MethodHandles.lookup().findVarHandle(ATask.class, "consumers", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * The state of a task that is not done: whether it has been started and the callbacks to be run on completion.
+	 */
+	private record Pending(boolean isStarted, Callback callbacks) {
+
+	}
+
+	/**
+	 * A stack of completion callbacks.
+	 */
+	private record Callback(Runnable action, Callback next) {
+
+	}
+
+	/**
+	 * The state of a task that is done.
+	 */
+	private record Outcome(Object result, Throwable ex) {
+
+	}
+
+	private static final Pending NEW = new Pending(false, null);
+	private static final Pending STARTED = new Pending(true, null);
+	private static final Outcome NULL_RESULT = new Outcome(null, null);
+	private static final Outcome RELEASED = new Outcome(null, null);
+
+	/**
+	 * Either a {@link Pending} or an {@link Outcome}. All the transitions are made by CAS, so that the state of the
+	 * task is a single atomic word.
+	 */
+	@SuppressWarnings("FieldMayBeFinal")
+	private volatile Object state = NEW;
+
+	/**
+	 * Number of dependent tasks that have not completed yet, see {@link TaskUtils#releaseResults}. Once it reaches
+	 * {@code 0}, the result is dropped. Only meaningful if {@link #isReleasable} is set.
+	 */
+	@SuppressWarnings("FieldMayBeFinal")
+	private volatile int consumers = 0;
+	private boolean isReleasable = false;
+	private boolean releasesDependencies = false;
+	private boolean isFused = false;
 
 	@Override
 	public V call() throws Exception {
@@ -32,14 +80,38 @@ public abstract class ATask<V> implements Callable<V> {
 	}
 
 	/**
-	 * Flip the {@code startedFlag} using atomic CAS. Used for single-shot semantics when launched concurrently from
+	 * Mark the task as started using atomic CAS. Used for single-shot semantics when launched concurrently from
 	 * several threads.
 	 *
 	 * @return {@code true} if the caller thread is allowed to run the task code. It is guaranteed that exactly one
 	 * caller receive {@code true} result.
 	 */
 	boolean tryStart() {
-		return startedFlag.compareAndSet(false, true);
+		while (true) {
+			Object current = state;
+			if (!(current instanceof Pending pending) || pending.isStarted()) {
+				return false;
+			}
+
+			Pending started = pending.callbacks() == null ? STARTED : new Pending(true, pending.callbacks());
+			if (STATE.compareAndSet(this, current, started)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Run the task unless it is already started, then wait for its completion. Unlike {@link #call()}, it does not
+	 * read the result, which may be already released: used by the runners, which are not consumers of the tasks.
+	 *
+	 * @throws Exception if the task was run by the caller and has failed
+	 */
+	void run() throws Exception {
+		if (tryStart()) {
+			unsafeCall();
+		} else {
+			awaitCompletion();
+		}
 	}
 
 	/**
@@ -50,17 +122,150 @@ public abstract class ATask<V> implements Callable<V> {
 	 * @throws Exception if user code has raised an exception
 	 */
 	V unsafeCall() throws Exception {
+		Outcome outcome = null;
+		List<ATask<?>> consumed = null;
 		try {
-			this.result = compute();
-			return this.result;
-		} catch (Exception ex) {
-			this.ex = ex;
+			V result = compute();
+			outcome = result == null ? NULL_RESULT : new Outcome(result, null);
+			return result;
+		} catch (Throwable ex) {
+			outcome = new Outcome(null, ex);
 			throw ex;
 		} finally {
 			try {
+				if (releasesDependencies) {
+					consumed = getDependencies();
+				}
 				dispose();
 			} finally {
-				done.countDown();
+				complete(outcome);
+				if (isReleasable && consumers == 0) {
+					// All the dependents have completed without reading the result
+					tryRelease();
+				}
+				if (consumed != null) {
+					releaseAll(consumed);
+				}
+			}
+		}
+	}
+
+	private void complete(Outcome outcome) {
+		Pending pending = (Pending) STATE.getAndSet(this, outcome);
+		// The callbacks were pushed on a stack, run them in the registration order
+		Callback reversed = null;
+		for (Callback callback = pending.callbacks(); callback != null; callback = callback.next()) {
+			reversed = new Callback(callback.action(), reversed);
+		}
+		for (Callback callback = reversed; callback != null; callback = callback.next()) {
+			callback.action().run();
+		}
+	}
+
+	/**
+	 * Count one more dependent task, see {@link TaskUtils#releaseResults}. Must be called before the task is started.
+	 */
+	void addConsumer() {
+		isReleasable = true;
+		CONSUMERS.getAndAdd(this, 1);
+	}
+
+	/**
+	 * Make the task notify its dependencies once it is complete, see {@link TaskUtils#releaseResults}. Must be called
+	 * before the task is started.
+	 */
+	void releaseDependencies() {
+		releasesDependencies = true;
+	}
+
+	/**
+	 * Mark the task as fused with its only consumer, see {@link TaskUtils#fuseChains}. Must be called before the task
+	 * is started.
+	 */
+	void fuse() {
+		isFused = true;
+	}
+
+	/**
+	 * Check whether the task is fused with its only consumer: instead of being forked, it may be run by the consumer
+	 * thread.
+	 *
+	 * @return {@code true} if the task has a single consumer
+	 */
+	boolean isFused() {
+		return isFused;
+	}
+
+	private static void releaseAll(List<ATask<?>> dependencies) {
+		for (int i = 0; i < dependencies.size(); ++i) {
+			ATask<?> dependency = dependencies.get(i);
+			// A dependency may be referenced several times but it is counted once
+			if (!containsBefore(dependencies, i, dependency)) {
+				dependency.releaseConsumer();
+			}
+		}
+	}
+
+	private static boolean containsBefore(List<ATask<?>> tasks, int end, ATask<?> task) {
+		for (int i = 0; i < end; ++i) {
+			if (tasks.get(i) == task) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void releaseConsumer() {
+		if (isReleasable && (int) CONSUMERS.getAndAdd(this, -1) == 1) {
+			tryRelease();
+		}
+	}
+
+	private void tryRelease() {
+		// The failures are kept, so that they are reported to whoever reads them
+		if (state instanceof Outcome outcome && outcome.ex() == null && outcome != RELEASED) {
+			STATE.compareAndSet(this, outcome, RELEASED);
+		}
+	}
+
+	/**
+	 * Check whether the task is done, either normally or with an exception. Does not block.
+	 *
+	 * @return {@code true} if the result is available
+	 */
+	public boolean isDone() {
+		return state instanceof Outcome;
+	}
+
+	/**
+	 * Get the result of the task if it is done. Does not block.
+	 *
+	 * @return The result, or null if the task is not done (use {@link #isDone()} to tell it from a null result)
+	 * @throws RuntimeException      if the task has failed
+	 * @throws IllegalStateException if the result was released, see {@link TaskUtils#releaseResults}
+	 */
+	public V tryGetResult() {
+		return state instanceof Outcome outcome ? resultOf(outcome) : null;
+	}
+
+	/**
+	 * Register an action to be run once the task is done. If the task is already done, the action is run
+	 * immediately in the caller thread, otherwise it is run by the thread that completes the task. The action must be
+	 * short and must not throw.
+	 *
+	 * @param action The action to be run
+	 */
+	public void onComplete(Runnable action) {
+		while (true) {
+			Object current = state;
+			if (!(current instanceof Pending pending)) {
+				action.run();
+				return;
+			}
+
+			Pending next = new Pending(pending.isStarted(), new Callback(action, pending.callbacks()));
+			if (STATE.compareAndSet(this, current, next)) {
+				return;
 			}
 		}
 	}
@@ -72,41 +277,42 @@ public abstract class ATask<V> implements Callable<V> {
 	 * @throws Exception if an error occurred
 	 */
 	V waitForResult() throws Exception {
-		done.await();
-		if (this.ex != null) {
-			throw new RuntimeException(this.ex); // <- Maybe replace with custom exception?
-		} else {
-			return this.result;
+		awaitCompletion();
+		return tryGetResult();
+	}
+
+	private void awaitCompletion() throws InterruptedException {
+		if (!isDone()) {
+			Thread waiter = Thread.currentThread();
+			onComplete(() -> LockSupport.unpark(waiter));
+			while (!isDone()) {
+				LockSupport.park(this);
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+			}
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private V resultOf(Outcome outcome) {
+		if (outcome == RELEASED) {
+			throw new IllegalStateException("The result of " + this + " was released");
+		}
+		if (outcome.ex() != null) {
+			throw new RuntimeException(outcome.ex()); // <- Maybe replace with custom exception?
+		}
+		return (V) outcome.result();
+	}
+
 	/**
-	 * Retrieve all fields marked with {@link Dependency @Dependency} annotation.
+	 * Retrieve all fields marked with {@link Dependency @Dependency} annotation. See {@link DependencyAccessor}.
 	 * @return Task dependencies
 	 * */
 	protected List<ATask<?>> getDependencies() {
-		return Arrays.stream(this.getClass().getDeclaredFields()).flatMap(field -> {
-			if (!field.isAnnotationPresent(Dependency.class)) {
-				return null;
-			}
-
-			try {
-				field.setAccessible(true);
-				if (ATask.class.isAssignableFrom(field.getType())) {
-					return Stream.ofNullable((ATask<?>) field.get(this));
-				} else if (Collection.class.isAssignableFrom(field.getType())) {
-					Collection<?> collection = (Collection<?>) field.get(this);
-					return collection
-							.stream()
-							.filter(x -> x != null && ATask.class.isAssignableFrom(x.getClass()))
-							.map(x -> (ATask<?>) x);
-				} else {
-					throw new RuntimeException("Field " + field + " should not be annotated with @Dependency");
-				}
-			} catch (IllegalAccessException e) {
-				throw new InternalError(e);
-			}
-		}).collect(Collectors.toList());
+		List<ATask<?>> dependencies = new ArrayList<>();
+		DependencyAccessors.of(this.getClass()).collect(this, dependencies);
+		return dependencies;
 	}
 
 	/**
@@ -122,18 +328,6 @@ public abstract class ATask<V> implements Callable<V> {
 	 * the current task depends on with {@link Dependency @Dependency} annotation.
 	 */
 	protected void dispose() {
-		Arrays.stream(this.getClass().getDeclaredFields()).forEach(field -> {
-			if (!field.isAnnotationPresent(Dependency.class)) {
-				return;
-			}
-
-			try {
-				field.setAccessible(true);
-				field.set(this, null);
-			} catch (IllegalAccessException e) {
-				e.printStackTrace();
-				throw new RuntimeException("Illegal access to the field " + field);
-			}
-		});
+		DependencyAccessors.of(this.getClass()).clear(this);
 	}
 }
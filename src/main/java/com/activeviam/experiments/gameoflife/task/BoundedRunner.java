@@ -0,0 +1,237 @@
+package com.activeviam.experiments.gameoflife.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.incubator.concurrent.StructuredTaskScope;
+
+/**
+ * This task runs all the tasks of a workflow in a topological order, like {@link TaskUtils#buildRunner(ATask)}, but
+ * at most {@code capacity} of them are in flight at any time: the next task is forked only when a running one
+ * completes. Among the tasks whose dependencies have all completed, the one with the longest path to the main task
+ * is forked first, so that the critical path is never delayed by tasks that may run later.
+ * <p>
+ * Since a task is forked only once its dependencies have completed, a forked task never waits for another one: the
+ * threads are never held by parked tasks, which guarantees the progress whatever the capacity. A task that is already
+ * started elsewhere is not forked, its dependents are released once it completes. A {@link TaskUtils#fuseChains fused}
+ * task is not forked either, its consumer is released instead and runs it in its own thread; since a consumer
+ * runs a single fused task, the other ones are forked as usual.
+ *
+ * @param <V> The return type of the main task
+ */
+public class BoundedRunner<V> extends ATask<V> {
+
+	@Dependency
+	private ATask<V> resultTask;
+	private final int capacity;
+	private final ThreadFactory threadFactory;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger peakInFlight = new AtomicInteger();
+	private volatile boolean isFailed = false;
+
+	/**
+	 * Constructs a new runner.
+	 *
+	 * @param resultTask The main task
+	 * @param capacity   Maximal number of tasks in flight
+	 */
+	public BoundedRunner(ATask<V> resultTask, int capacity) {
+		this(resultTask, capacity, Thread.ofVirtual().factory());
+	}
+
+	/**
+	 * Constructs a new runner whose tasks are run by the threads of a factory.
+	 *
+	 * @param resultTask    The main task
+	 * @param capacity      Maximal number of tasks in flight
+	 * @param threadFactory The factory of the threads that run the tasks
+	 */
+	public BoundedRunner(ATask<V> resultTask, int capacity, ThreadFactory threadFactory) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+
+		this.resultTask = resultTask;
+		this.capacity = capacity;
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Get the maximal number of tasks in flight.
+	 *
+	 * @return The capacity of the runner
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Get the peak number of tasks in flight, each of them holds a thread of the runner.
+	 *
+	 * @return The peak number of threads used so far
+	 */
+	public int getPeakInFlight() {
+		return peakInFlight.get();
+	}
+
+	private static class Node {
+
+		private final ATask<?> task;
+		private final int id;
+		private final List<Node> dependencies = new ArrayList<>(2);
+		private final List<Node> dependents = new ArrayList<>(2);
+		// Length of the longest path to the main task
+		private int level = 0;
+		private int pendingCount = 0;
+		// Id of the last dependent that counted this node, used to ignore duplicate dependencies
+		private int lastDependentId = -1;
+		private boolean isForked = false;
+		// Whether a fused dependency is left to this task, a consumer runs a single one in its own thread
+		private boolean hasInlineDependency = false;
+
+		private Node(ATask<?> task, int id) {
+			this.task = task;
+			this.id = id;
+		}
+	}
+
+	@Override
+	protected V compute() throws Exception {
+		ATask<V> result = resultTask;
+		List<Node> nodes = scanDependencies(result);
+		computeLevels(nodes.get(0));
+
+		Queue<Node> ready = new PriorityQueue<>(
+				Comparator.<Node>comparingInt(node -> -node.level).thenComparingInt(node -> node.id));
+		for (Node node : nodes) {
+			node.pendingCount = node.dependencies.size();
+			if (node.pendingCount == 0) {
+				ready.add(node);
+			}
+		}
+		int remaining = nodes.size();
+		nodes = null;
+
+		// The completed tasks are handed to the runner thread, which is the only one to update the graph
+		BlockingQueue<Node> completed = new LinkedBlockingQueue<>();
+		int running = 0;
+		try (var scope = new StructuredTaskScope.ShutdownOnFailure(null, threadFactory)) {
+			while (remaining > 0 && !isFailed) {
+				while (running < capacity && !ready.isEmpty()) {
+					Node node = ready.poll();
+
+					Node consumer = node.task.isFused() ? node.dependents.get(0) : null;
+					if (consumer != null && !consumer.hasInlineDependency) {
+						// Run by its consumer, which is still released only once its other dependencies complete
+						consumer.hasInlineDependency = true;
+						--remaining;
+						release(node, ready);
+					} else if (node.task.tryStart()) {
+						node.isForked = true;
+						++running;
+						peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+						scope.fork(() -> {
+							try {
+								node.task.unsafeCall();
+								return null;
+							} catch (Throwable t) {
+								isFailed = true;
+								throw t;
+							} finally {
+								inFlight.decrementAndGet();
+								completed.add(node);
+							}
+						});
+					} else {
+						// Started elsewhere, it does not hold a slot of the runner
+						node.task.onComplete(() -> completed.add(node));
+					}
+				}
+
+				Node node = completed.take();
+				if (node.isForked) {
+					--running;
+				}
+				--remaining;
+				release(node, ready);
+			}
+
+			scope.join().throwIfFailed();
+		}
+
+		return result.call();
+	}
+
+	/**
+	 * Make ready the dependents of a task whose other dependencies are all done.
+	 */
+	private static void release(Node node, Queue<Node> ready) {
+		for (Node dependent : node.dependents) {
+			if (--dependent.pendingCount == 0) {
+				ready.add(dependent);
+			}
+		}
+	}
+
+	/**
+	 * Build the graph of the workflow, the main task comes first.
+	 */
+	private static List<Node> scanDependencies(ATask<?> resultTask) {
+		Map<ATask<?>, Node> nodesByTask = new IdentityHashMap<>();
+		List<Node> nodes = new ArrayList<>();
+
+		Node root = new Node(resultTask, 0);
+		nodesByTask.put(resultTask, root);
+		nodes.add(root);
+
+		for (int i = 0; i < nodes.size(); ++i) {
+			Node node = nodes.get(i);
+
+			for (ATask<?> dependency : node.task.getDependencies()) {
+				Node next = nodesByTask.get(dependency);
+				if (next == null) {
+					next = new Node(dependency, nodes.size());
+					nodesByTask.put(dependency, next);
+					nodes.add(next);
+				}
+
+				if (next.lastDependentId != node.id) {
+					next.lastDependentId = node.id;
+					next.dependents.add(node);
+					node.dependencies.add(next);
+				}
+			}
+		}
+
+		return nodes;
+	}
+
+	/**
+	 * Compute the length of the longest path from every task to the main task, visiting the dependents of a task
+	 * before the task itself.
+	 */
+	private static void computeLevels(Node root) {
+		Queue<Node> queue = new ArrayDeque<>();
+		queue.add(root);
+
+		while (!queue.isEmpty()) {
+			Node node = queue.poll();
+
+			for (Node dependency : node.dependencies) {
+				dependency.level = Math.max(dependency.level, node.level + 1);
+				if (++dependency.pendingCount == dependency.dependents.size()) {
+					queue.add(dependency);
+				}
+			}
+		}
+	}
+}
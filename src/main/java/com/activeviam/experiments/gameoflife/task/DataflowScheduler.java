@@ -0,0 +1,162 @@
+package com.activeviam.experiments.gameoflife.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.incubator.concurrent.StructuredTaskScope;
+
+/**
+ * This task runs a workflow in the push-based way. The dependency graph is scanned once to compute the number of
+ * dependencies of every task, then a fixed number of workers run the tasks whose dependencies are all complete. When a
+ * task completes, its dependents are notified and scheduled as soon as their last dependency is complete.
+ * <p>
+ * Thus, a task is always started after its dependencies, it gets their results without waiting, and the number of
+ * threads does not depend on the depth of the graph. The workers are forked in a structured scope, so they inherit the
+ * extent-local bindings of the caller.
+ *
+ * @param <V> The return type of the main task
+ */
+public class DataflowScheduler<V> extends ATask<V> {
+
+	@Dependency
+	private ATask<V> resultTask;
+	private final int workers;
+	private final ThreadFactory threadFactory;
+
+	/**
+	 * Constructs a new scheduler.
+	 *
+	 * @param resultTask The main task
+	 * @param workers    Number of tasks run in parallel
+	 */
+	public DataflowScheduler(ATask<V> resultTask, int workers) {
+		this(resultTask, workers, Thread.ofVirtual().factory());
+	}
+
+	/**
+	 * Constructs a new scheduler whose workers are created by a factory.
+	 *
+	 * @param resultTask    The main task
+	 * @param workers       Number of tasks run in parallel
+	 * @param threadFactory The factory of the worker threads
+	 */
+	public DataflowScheduler(ATask<V> resultTask, int workers, ThreadFactory threadFactory) {
+		if (workers <= 0) {
+			throw new IllegalArgumentException("Number of workers must be positive");
+		}
+
+		this.resultTask = resultTask;
+		this.workers = workers;
+		this.threadFactory = threadFactory;
+	}
+
+	private static class Node {
+
+		private static final Node POISON = new Node(null, -1);
+
+		private final ATask<?> task;
+		private final int id;
+		private final List<Node> dependents = new ArrayList<>(2);
+		private final AtomicInteger pendingDependencies = new AtomicInteger();
+		// Id of the last dependent that counted this node, used to ignore duplicate dependencies
+		private int lastDependentId = -1;
+
+		private Node(ATask<?> task, int id) {
+			this.task = task;
+			this.id = id;
+		}
+	}
+
+	@Override
+	protected V compute() throws Exception {
+		ATask<V> result = resultTask;
+		Map<ATask<?>, Node> nodes = scanDependencies(result);
+		Node resultNode = nodes.get(result);
+
+		LinkedBlockingQueue<Node> ready = new LinkedBlockingQueue<>();
+		for (Node node : nodes.values()) {
+			if (node.pendingDependencies.get() == 0) {
+				ready.add(node);
+			}
+		}
+		// The graph is kept by the nodes only
+		nodes.clear();
+
+		try (var scope = new StructuredTaskScope.ShutdownOnFailure(null, threadFactory)) {
+			for (int i = 0; i < workers; ++i) {
+				scope.fork(() -> {
+					work(ready, resultNode);
+					return null;
+				});
+			}
+			scope.join().throwIfFailed();
+		}
+
+		return result.call();
+	}
+
+	private void work(LinkedBlockingQueue<Node> ready, Node resultNode) throws Exception {
+		while (true) {
+			Node node = ready.take();
+			if (node == Node.POISON) {
+				return;
+			}
+
+			// All the dependencies are complete: the task does not wait for them
+			node.task.run();
+
+			if (node == resultNode) {
+				for (int i = 0; i < workers; ++i) {
+					ready.add(Node.POISON);
+				}
+				return;
+			}
+
+			for (Node dependent : node.dependents) {
+				if (dependent.pendingDependencies.decrementAndGet() == 0) {
+					ready.add(dependent);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Build the graph of the workflow. The dependencies are collected before any task is run, because the tasks drop
+	 * them once they are complete.
+	 */
+	private static Map<ATask<?>, Node> scanDependencies(ATask<?> resultTask) {
+		Map<ATask<?>, Node> nodes = new IdentityHashMap<>();
+		Queue<Node> queue = new ArrayDeque<>();
+
+		Node root = new Node(resultTask, 0);
+		nodes.put(resultTask, root);
+		queue.add(root);
+
+		while (!queue.isEmpty()) {
+			Node node = queue.poll();
+
+			for (ATask<?> dependency : node.task.getDependencies()) {
+				Node next = nodes.get(dependency);
+				if (next == null) {
+					next = new Node(dependency, nodes.size());
+					nodes.put(dependency, next);
+					queue.add(next);
+				}
+
+				if (next.lastDependentId != node.id) {
+					next.lastDependentId = node.id;
+					next.dependents.add(node);
+					node.pendingDependencies.incrementAndGet();
+				}
+			}
+		}
+
+		return nodes;
+	}
+}
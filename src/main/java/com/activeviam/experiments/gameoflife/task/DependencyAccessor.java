@@ -0,0 +1,27 @@
+package com.activeviam.experiments.gameoflife.task;
+
+import java.util.List;
+
+/**
+ * This interface gives access to the fields of a task class marked with {@link Dependency @Dependency} annotation.
+ * The implementations are generated at compile time by
+ * {@link com.activeviam.experiments.gameoflife.task.processor.DependencyProcessor}, the classes that were not
+ * processed (e.g. anonymous classes) use a reflective implementation, see {@link DependencyAccessors}.
+ */
+public interface DependencyAccessor {
+
+	/**
+	 * Add the dependencies of a task to a list.
+	 *
+	 * @param task         The task, an instance of the class of this accessor
+	 * @param dependencies The list to be filled
+	 */
+	void collect(ATask<?> task, List<ATask<?>> dependencies);
+
+	/**
+	 * Set all the dependency fields of a task to {@code null}.
+	 *
+	 * @param task The task, an instance of the class of this accessor
+	 */
+	void clear(ATask<?> task);
+}
@@ -0,0 +1,160 @@
+package com.activeviam.experiments.gameoflife.task;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class resolves the {@link DependencyAccessor} of a task class. The accessor generated at compile time is
+ * used if it exists, otherwise the {@link Dependency @Dependency} fields are resolved by reflection once per class and
+ * accessed through {@link VarHandle var handles}.
+ */
+public class DependencyAccessors {
+
+	/**
+	 * The suffix of the generated accessor classes: the accessor of {@code a.b.Outer$Inner} is
+	 * {@code a.b.Outer$Inner_Dependencies}.
+	 */
+	public static final String SUFFIX = "_Dependencies";
+
+	private static final ClassValue<DependencyAccessor> ACCESSORS = new ClassValue<>() {
+		@Override
+		protected DependencyAccessor computeValue(Class<?> type) {
+			DependencyAccessor accessor = generated(type);
+			return accessor != null ? accessor : reflective(type);
+		}
+	};
+
+	/**
+	 * Get the accessor of a task class.
+	 *
+	 * @param type The task class
+	 * @return The generated accessor if it exists, the reflective one otherwise
+	 */
+	public static DependencyAccessor of(Class<?> type) {
+		return ACCESSORS.get(type);
+	}
+
+	/**
+	 * Load the accessor generated for a task class.
+	 *
+	 * @param type The task class
+	 * @return The generated accessor, or null if the class was not processed
+	 */
+	public static DependencyAccessor generated(Class<?> type) {
+		Class<?> accessorClass;
+		try {
+			accessorClass = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+
+		if (!DependencyAccessor.class.isAssignableFrom(accessorClass)) {
+			return null;
+		}
+		try {
+			return (DependencyAccessor) accessorClass.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot instantiate " + accessorClass, e);
+		}
+	}
+
+	/**
+	 * Build an accessor that resolves the dependency fields by reflection.
+	 *
+	 * @param type The task class
+	 * @return A new accessor
+	 * @throws RuntimeException if a field marked with {@link Dependency @Dependency} is neither a task nor a
+	 *                          collection
+	 */
+	public static DependencyAccessor reflective(Class<?> type) {
+		List<VarHandle> tasks = new ArrayList<>();
+		List<VarHandle> collections = new ArrayList<>();
+
+		MethodHandles.Lookup lookup;
+		try {
+			lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+		} catch (IllegalAccessException e) {
+			throw new InternalError(e);
+		}
+
+		for (Field field : type.getDeclaredFields()) {
+			if (!field.isAnnotationPresent(Dependency.class) || Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+
+			List<VarHandle> handles;
+			if (ATask.class.isAssignableFrom(field.getType())) {
+				handles = tasks;
+			} else if (Collection.class.isAssignableFrom(field.getType())) {
+				handles = collections;
+			} else {
+				throw new RuntimeException("Field " + field + " should not be annotated with @Dependency");
+			}
+
+			try {
+				handles.add(lookup.unreflectVarHandle(field));
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException("Illegal access to the field " + field, e);
+			}
+		}
+
+		return new ReflectiveAccessor(tasks.toArray(VarHandle[]::new), collections.toArray(VarHandle[]::new));
+	}
+
+	/**
+	 * Add a dependency to the list if it is not null. Used by the generated accessors.
+	 *
+	 * @param dependencies The list of dependencies
+	 * @param task         The value of a task field
+	 */
+	public static void addTask(List<ATask<?>> dependencies, Object task) {
+		if (task != null) {
+			dependencies.add((ATask<?>) task);
+		}
+	}
+
+	/**
+	 * Add the tasks of a collection to the list. Used by the generated accessors.
+	 *
+	 * @param dependencies The list of dependencies
+	 * @param collection   The value of a collection field
+	 */
+	public static void addTasks(List<ATask<?>> dependencies, Object collection) {
+		if (collection == null) {
+			return;
+		}
+		for (Object element : (Collection<?>) collection) {
+			if (element instanceof ATask<?> task) {
+				dependencies.add(task);
+			}
+		}
+	}
+
+	private record ReflectiveAccessor(VarHandle[] tasks, VarHandle[] collections) implements DependencyAccessor {
+
+		@Override
+		public void collect(ATask<?> task, List<ATask<?>> dependencies) {
+			for (VarHandle handle : tasks) {
+				addTask(dependencies, handle.get(task));
+			}
+			for (VarHandle handle : collections) {
+				addTasks(dependencies, handle.get(task));
+			}
+		}
+
+		@Override
+		public void clear(ATask<?> task) {
+			for (VarHandle handle : tasks) {
+				handle.set(task, null);
+			}
+			for (VarHandle handle : collections) {
+				handle.set(task, null);
+			}
+		}
+	}
+}
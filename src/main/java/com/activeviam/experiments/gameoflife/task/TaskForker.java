@@ -1,33 +1,25 @@
 package com.activeviam.experiments.gameoflife.task;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import jdk.incubator.concurrent.StructuredTaskScope;
 
 /**
  * This class is a wrapper for {@link StructuredTaskScope} that is used to reduce the number of virtual threads
- * while waiting task results.
+ * while waiting task results. The tasks that are not started yet are forked in the scope, the tasks that are already
+ * started elsewhere are not waited for by a forked thread: a completion callback completes their future, and the
+ * caller waits for them once the scope is joined. The first
+ * {@link TaskUtils#fuseChains fused} task is not forked either, it is run by the caller thread in {@link #done()}.
  * @param <T>
  */
 public class TaskForker<T> {
 	private final StructuredTaskScope<T> scope;
-
-	private record TaskContext<T>(ATask<T> task, CompletableFuture<T> future) {
-
-		public void process() {
-			try {
-				T result = task.waitForResult();
-				future.complete(result);
-			} catch (Exception e) {
-				future.completeExceptionally(e);
-			}
-		}
-	}
-
-	private static final TaskContext<?> POISON_CTX = new TaskContext<>(null, null);
-	private final LinkedBlockingQueue<TaskContext<?>> queue = new LinkedBlockingQueue<>();
+	private final List<CompletableFuture<?>> pending = new ArrayList<>();
 	private boolean closed = false;
+	private Callable<?> inlineTask;
 
 	/**
 	 * Construct a new {@link TaskForker}.
@@ -35,26 +27,10 @@ public class TaskForker<T> {
 	 */
 	public TaskForker(StructuredTaskScope<T> scope) {
 		this.scope = scope;
-		scope.fork(() -> {
-			processQueue();
-			return null;
-		});
-	}
-
-	private void processQueue() throws InterruptedException {
-		while (true) {
-			TaskContext<?> ctx = queue.take();
-			if (ctx == POISON_CTX) {
-				// No more tasks, exiting
-				return;
-			}
-
-			ctx.process();
-		}
 	}
 
 	/**
-	 * Try to fork a task. If it is already started, add it to the joining queue.
+	 * Try to fork a task. If it is already started, register a completion callback instead.
 	 * @param task The task to be forked
 	 * @param <U> Task result type
 	 * @return A future that represents the task result
@@ -65,25 +41,67 @@ public class TaskForker<T> {
 			throw new IllegalStateException("Cannot call fork() after done()");
 		}
 		if (task.tryStart()) {
+			if (task.isFused() && inlineTask == null) {
+				return defer(task);
+			}
 			return scope.fork(task::unsafeCall);
 		} else {
-			return enqueue(task);
+			return listen(task);
 		}
 	}
 
-	private <U> Future<U> enqueue(ATask<U> task) throws InterruptedException {
+	private <U> Future<U> defer(ATask<U> task) {
 		CompletableFuture<U> future = new CompletableFuture<>();
-		TaskContext<U> ctx = new TaskContext<>(task, future);
-		queue.put(ctx);
+		inlineTask = () -> {
+			try {
+				return future.complete(task.unsafeCall());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+				throw e;
+			}
+		};
+		return future;
+	}
+
+	private <U> Future<U> listen(ATask<U> task) {
+		CompletableFuture<U> future = new CompletableFuture<>();
+		task.onComplete(() -> {
+			try {
+				future.complete(task.tryGetResult());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		if (!future.isDone()) {
+			pending.add(future);
+		}
 		return future;
 	}
 
 	/**
-	 * Send a signal tho the joiner thread to terminate
-	 * Must be called right before {@link StructuredTaskScope#join() scope.join()}.
+	 * Run the fused task in the current thread, and get a future of the tasks started elsewhere. No thread waits for
+	 * them: the caller must wait for the returned future right after {@link StructuredTaskScope#join() scope.join()},
+	 * before reading the results of the listened tasks. Must be called right before {@code scope.join()}.
+	 *
+	 * @return A future that completes once all the tasks started elsewhere have completed
+	 * @throws Exception if the fused task has failed, the scope is shut down and joined
 	 */
-	public void done() {
+	public Future<Void> done() throws Exception {
 		closed = true;
-		queue.add(POISON_CTX);
+		pending.removeIf(CompletableFuture::isDone);
+		CompletableFuture<Void> listened = pending.isEmpty()
+				? CompletableFuture.completedFuture(null)
+				: CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+
+		if (inlineTask != null) {
+			try {
+				inlineTask.call();
+			} catch (Exception e) {
+				scope.shutdown();
+				scope.join();
+				throw e;
+			}
+		}
+		return listened;
 	}
 }
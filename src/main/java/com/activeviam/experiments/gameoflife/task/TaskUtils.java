@@ -1,12 +1,18 @@
 package com.activeviam.experiments.gameoflife.task;
 
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
 import jdk.incubator.concurrent.StructuredTaskScope;
 
 /**
@@ -23,7 +29,21 @@ public class TaskUtils {
 	 * @return A new task that encapsulates the original main task and runs watchers in parallel
 	 */
 	public static <V> ATask<V> withWatchers(ATask<V> mainTask, ATask<?>... watcherTasks) {
-		return new TaskWithWatchers<>(mainTask, watcherTasks);
+		return withWatchers(Thread.ofVirtual().factory(), mainTask, watcherTasks);
+	}
+
+	/**
+	 * Run a task along with watcher tasks (e.g. loggers) in the threads of a factory.
+	 *
+	 * @param threadFactory The factory of the threads that run the main task and the watchers
+	 * @param mainTask      The main task to be executed
+	 * @param watcherTasks  Watcher tasks
+	 * @param <V>           The return type of main tasks
+	 * @return A new task that encapsulates the original main task and runs watchers in parallel
+	 */
+	public static <V> ATask<V> withWatchers(ThreadFactory threadFactory, ATask<V> mainTask,
+			ATask<?>... watcherTasks) {
+		return new TaskWithWatchers<>(threadFactory, mainTask, watcherTasks);
 	}
 
 	private static class TaskWithWatchers<V> extends ATask<V> {
@@ -32,15 +52,17 @@ public class TaskUtils {
 		private ATask<V> mainTask;
 		@Dependency
 		private List<ATask<?>> watcherTasks;
+		private final ThreadFactory threadFactory;
 
-		public TaskWithWatchers(ATask<V> mainTask, ATask<?>... watcherTasks) {
+		public TaskWithWatchers(ThreadFactory threadFactory, ATask<V> mainTask, ATask<?>... watcherTasks) {
 			this.mainTask = mainTask;
 			this.watcherTasks = List.of(watcherTasks);
+			this.threadFactory = threadFactory;
 		}
 
 		@Override
 		protected V compute() throws Exception {
-			try (var scope = new StructuredTaskScope.ShutdownOnSuccess<V>()) {
+			try (var scope = new StructuredTaskScope.ShutdownOnSuccess<V>(null, threadFactory)) {
 				scope.fork(mainTask);
 
 				for (var watcherTask : watcherTasks) {
@@ -64,6 +86,115 @@ public class TaskUtils {
 		}
 	}
 
+	/**
+	 * Collect all the tasks of a workflow.
+	 *
+	 * @param resultTask The main task
+	 * @return The main task and all its direct and indirect dependencies
+	 */
+	public static Set<ATask<?>> collectTasks(ATask<?> resultTask) {
+		Set<ATask<?>> tasks = new HashSet<>();
+		Queue<ATask<?>> queue = new LinkedList<>();
+
+		tasks.add(resultTask);
+		queue.add(resultTask);
+
+		while (!queue.isEmpty()) {
+			ATask<?> task = queue.poll();
+
+			for (ATask<?> next : task.getDependencies()) {
+				if (!tasks.contains(next)) {
+					tasks.add(next);
+					queue.add(next);
+				}
+			}
+		}
+
+		return tasks;
+	}
+
+	/**
+	 * Make the tasks of a workflow drop their results as soon as all their dependents have completed, so that the
+	 * intermediate results do not stay reachable until the whole workflow is done. The result of the main task is
+	 * kept. Must be called before any task of the workflow is started, and the results must not be read from outside
+	 * the workflow. Must be called before the workflow is wrapped in a runner, see {@link #buildRunner}: the runner
+	 * would be counted as a consumer of every task.
+	 *
+	 * @param resultTask The main task
+	 * @param <T>        The type of the main task
+	 * @return The main task
+	 */
+	public static <T extends ATask<?>> T releaseResults(T resultTask) {
+		visitGraph(resultTask, (task, dependencies) -> {
+			for (ATask<?> dependency : dependencies) {
+				dependency.addConsumer();
+			}
+			if (!dependencies.isEmpty()) {
+				task.releaseDependencies();
+			}
+		});
+
+		return resultTask;
+	}
+
+	/**
+	 * Fuse the chains of the workflow: a task that has a single consumer is not forked by the consumer (see
+	 * {@link TaskForker}) but run by the consumer thread once the other dependencies are forked. It saves a thread
+	 * per fused task. A task whose consumer is itself fused is not fused, so that a long chain does not become a deep
+	 * stack: every other task of the chain is fused. Must be called before any task of the workflow is started, and
+	 * before the workflow is wrapped in a runner, which would be counted as a consumer of every task.
+	 *
+	 * @param resultTask The main task
+	 * @param <T>        The type of the main task
+	 * @return The main task
+	 */
+	public static <T extends ATask<?>> T fuseChains(T resultTask) {
+		List<ATask<?>> tasks = new ArrayList<>();
+		Map<ATask<?>, ATask<?>> consumers = new HashMap<>();
+		Set<ATask<?>> sharedTasks = new HashSet<>();
+		visitGraph(resultTask, (task, dependencies) -> {
+			tasks.add(task);
+			for (ATask<?> dependency : dependencies) {
+				if (consumers.putIfAbsent(dependency, task) != null) {
+					sharedTasks.add(dependency);
+				}
+			}
+		});
+
+		// A task is visited after its consumers
+		for (ATask<?> task : tasks) {
+			ATask<?> consumer = consumers.get(task);
+			if (consumer != null && !sharedTasks.contains(task) && !consumer.isFused()) {
+				task.fuse();
+			}
+		}
+
+		return resultTask;
+	}
+
+	/**
+	 * Visit every task of the workflow once, along with its distinct dependencies.
+	 */
+	private static void visitGraph(ATask<?> resultTask, BiConsumer<ATask<?>, Set<ATask<?>>> visitor) {
+		Set<ATask<?>> tasks = new HashSet<>();
+		Queue<ATask<?>> queue = new LinkedList<>();
+
+		tasks.add(resultTask);
+		queue.add(resultTask);
+
+		while (!queue.isEmpty()) {
+			ATask<?> task = queue.poll();
+
+			Set<ATask<?>> dependencies = new HashSet<>(task.getDependencies());
+			visitor.accept(task, dependencies);
+			for (ATask<?> next : dependencies) {
+				if (tasks.add(next)) {
+					queue.add(next);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Scan the dependency graph of the task and run all the tasks in correct order in parallel. May be useful if the
 	 * dependency graph depth is large.
@@ -73,7 +204,74 @@ public class TaskUtils {
 	 * @return A wrapper task that runs all the dependencies in the topological sort order
 	 */
 	public static <T> ATask<T> buildRunner(ATask<T> resultTask) {
-		return new DependenciesRunner<>(resultTask);
+		return buildRunner(resultTask, Thread.ofVirtual().factory());
+	}
+
+	/**
+	 * Scan the dependency graph of the task and run all the tasks in correct order in parallel, in the threads of a
+	 * factory.
+	 *
+	 * @param resultTask    The main task
+	 * @param threadFactory The factory of the threads that run the tasks
+	 * @param <T>           The return type of the main task
+	 * @return A wrapper task that runs all the dependencies in the topological sort order
+	 */
+	public static <T> ATask<T> buildRunner(ATask<T> resultTask, ThreadFactory threadFactory) {
+		return new DependenciesRunner<>(resultTask, threadFactory);
+	}
+
+	/**
+	 * Scan the dependency graph of the task and run all the tasks in a topological order, with at most
+	 * {@code capacity} tasks in flight (see {@link BoundedRunner}).
+	 *
+	 * @param resultTask The main task
+	 * @param capacity   Maximal number of tasks in flight
+	 * @param <T>        The return type of the main task
+	 * @return A wrapper task that forks the dependencies once a slot is free, the critical path first
+	 */
+	public static <T> BoundedRunner<T> buildRunner(ATask<T> resultTask, int capacity) {
+		return new BoundedRunner<>(resultTask, capacity);
+	}
+
+	/**
+	 * Scan the dependency graph of the task and run all the tasks in a topological order, with at most
+	 * {@code capacity} tasks in flight, in the threads of a factory (see {@link BoundedRunner}).
+	 *
+	 * @param resultTask    The main task
+	 * @param capacity      Maximal number of tasks in flight
+	 * @param threadFactory The factory of the threads that run the tasks
+	 * @param <T>           The return type of the main task
+	 * @return A wrapper task that forks the dependencies once a slot is free, the critical path first
+	 */
+	public static <T> BoundedRunner<T> buildRunner(ATask<T> resultTask, int capacity, ThreadFactory threadFactory) {
+		return new BoundedRunner<>(resultTask, capacity, threadFactory);
+	}
+
+	/**
+	 * Run the tasks of the workflow once all their dependencies are complete, on a fixed number of workers (see
+	 * {@link DataflowScheduler}). Unlike {@link #buildRunner}, no thread waits for a dependency.
+	 *
+	 * @param resultTask The main task
+	 * @param workers    Number of tasks run in parallel
+	 * @param <T>        The return type of the main task
+	 * @return A wrapper task that pushes the tasks to the workers in the dataflow order
+	 */
+	public static <T> ATask<T> buildScheduler(ATask<T> resultTask, int workers) {
+		return new DataflowScheduler<>(resultTask, workers);
+	}
+
+	/**
+	 * Run the tasks of the workflow once all their dependencies are complete, on a fixed number of workers created
+	 * by a factory (see {@link DataflowScheduler}).
+	 *
+	 * @param resultTask    The main task
+	 * @param workers       Number of tasks run in parallel
+	 * @param threadFactory The factory of the worker threads
+	 * @param <T>           The return type of the main task
+	 * @return A wrapper task that pushes the tasks to the workers in the dataflow order
+	 */
+	public static <T> ATask<T> buildScheduler(ATask<T> resultTask, int workers, ThreadFactory threadFactory) {
+		return new DataflowScheduler<>(resultTask, workers, threadFactory);
 	}
 
 	private static class DependenciesRunner<V> extends ATask<V> {
@@ -82,9 +280,11 @@ public class TaskUtils {
 		private ATask<V> resultTask;
 		@Dependency
 		private List<ATask<?>> dependencies = new LinkedList<>();
+		private final ThreadFactory threadFactory;
 
-		public DependenciesRunner(ATask<V> resultTask) {
+		public DependenciesRunner(ATask<V> resultTask, ThreadFactory threadFactory) {
 			this.resultTask = resultTask;
+			this.threadFactory = threadFactory;
 			scanDependencies();
 		}
 
@@ -126,9 +326,16 @@ public class TaskUtils {
 
 		@Override
 		protected V compute() throws Exception {
-			try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+			try (var scope = new StructuredTaskScope.ShutdownOnFailure(null, threadFactory)) {
 				for (ATask<?> dependency : dependencies) {
-					scope.fork(dependency);
+					if (dependency.isFused()) {
+						// Run by the thread of its only consumer, see TaskForker
+						continue;
+					}
+					scope.fork(() -> {
+						dependency.run();
+						return null;
+					});
 				}
 
 				Future<V> f = scope.fork(resultTask);
@@ -3,13 +3,9 @@ package com.activeviam.experiments.gameoflife.task;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
 import org.yaml.snakeyaml.Yaml;
 
 public class WorkflowPrinter implements Closeable {
@@ -22,7 +18,7 @@ public class WorkflowPrinter implements Closeable {
 
 	public void print(ATask<?> resultTask) {
 		List<Map<String, Object>> tasks =
-				collectTasks(resultTask).stream()
+				TaskUtils.collectTasks(resultTask).stream()
 						.map(WorkflowPrinter::processTask)
 						.toList();
 
@@ -47,28 +43,6 @@ public class WorkflowPrinter implements Closeable {
 		return properties;
 	}
 
-
-	private static Set<ATask<?>> collectTasks(ATask<?> resultTask) {
-		Set<ATask<?>> tasks = new HashSet<>();
-		Queue<ATask<?>> queue = new LinkedList<>();
-
-		tasks.add(resultTask);
-		queue.add(resultTask);
-
-		while (!queue.isEmpty()) {
-			ATask<?> task = queue.poll();
-
-			for (ATask<?> next : task.getDependencies()) {
-				if (!tasks.contains(next)) {
-					tasks.add(next);
-					queue.add(next);
-				}
-			}
-		}
-
-		return tasks;
-	}
-
 	@Override
 	public void close() throws IOException {
 		writer.close();
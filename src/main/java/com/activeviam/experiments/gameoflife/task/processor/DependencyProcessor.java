@@ -0,0 +1,172 @@
+package com.activeviam.experiments.gameoflife.task.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * This annotation processor generates a {@code DependencyAccessor} for every class that declares fields marked with
+ * {@code @Dependency}, so that the tasks do not scan their fields by reflection. The fields are accessed through
+ * {@code static final} var handles, which the JIT compiles to plain field accesses. The generated class of
+ * {@code a.b.Outer$Inner} is {@code a.b.Outer$Inner_Dependencies}, it is looked up by {@code DependencyAccessors}.
+ * <p>
+ * The annotations are referenced by name, so that the processor can be compiled before the rest of the project.
+ */
+@SupportedAnnotationTypes(DependencyProcessor.DEPENDENCY)
+public class DependencyProcessor extends AbstractProcessor {
+
+	static final String DEPENDENCY = "com.activeviam.experiments.gameoflife.task.Dependency";
+	private static final String TASK_PACKAGE = "com.activeviam.experiments.gameoflife.task";
+	private static final String SUFFIX = "_Dependencies";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		Map<TypeElement, List<VariableElement>> fieldsByType = new LinkedHashMap<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() != ElementKind.FIELD || element.getModifiers().contains(Modifier.STATIC)) {
+					processingEnv.getMessager().printMessage(Kind.ERROR, "@Dependency must mark an instance field",
+							element);
+					continue;
+				}
+				fieldsByType
+						.computeIfAbsent((TypeElement) element.getEnclosingElement(), type -> new ArrayList<>())
+						.add((VariableElement) element);
+			}
+		}
+
+		for (Map.Entry<TypeElement, List<VariableElement>> entry : fieldsByType.entrySet()) {
+			try {
+				generate(entry.getKey(), entry.getValue());
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Kind.ERROR,
+						"Cannot generate the dependency accessor: " + e.getMessage(), entry.getKey());
+			}
+		}
+		return true;
+	}
+
+	private void generate(TypeElement type, List<VariableElement> fields) throws IOException {
+		var elements = processingEnv.getElementUtils();
+		var types = processingEnv.getTypeUtils();
+		TypeMirror taskType = types.erasure(elements.getTypeElement(TASK_PACKAGE + ".ATask").asType());
+		TypeMirror collectionType = types.erasure(elements.getTypeElement("java.util.Collection").asType());
+
+		List<VariableElement> tasks = new ArrayList<>();
+		List<VariableElement> collections = new ArrayList<>();
+		for (VariableElement field : fields) {
+			TypeMirror fieldType = types.erasure(field.asType());
+			if (types.isAssignable(fieldType, taskType)) {
+				tasks.add(field);
+			} else if (types.isAssignable(fieldType, collectionType)) {
+				collections.add(field);
+			} else {
+				processingEnv.getMessager().printMessage(Kind.ERROR,
+						"@Dependency must mark a task or a collection of tasks", field);
+				return;
+			}
+		}
+
+		PackageElement packageElement = elements.getPackageOf(type);
+		String packageName = packageElement.getQualifiedName().toString();
+		String binaryName = elements.getBinaryName(type).toString();
+		String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+				+ SUFFIX;
+		// Private nested classes cannot be named by a top-level class
+		String typeExpression = isAccessible(type)
+				? type.getQualifiedName() + ".class"
+				: "Class.forName(\"" + binaryName + "\")";
+
+		try (PrintWriter out = new PrintWriter(
+				processingEnv.getFiler().createSourceFile(packageName + "." + simpleName, type).openWriter())) {
+			if (!packageName.isEmpty()) {
+				out.println("package " + packageName + ";");
+				out.println();
+			}
+			if (!packageName.equals(TASK_PACKAGE)) {
+				out.println("import " + TASK_PACKAGE + ".ATask;");
+				out.println("import " + TASK_PACKAGE + ".DependencyAccessor;");
+				out.println("import " + TASK_PACKAGE + ".DependencyAccessors;");
+			}
+			out.println("import java.lang.invoke.MethodHandles;");
+			out.println("import java.lang.invoke.VarHandle;");
+			out.println("import java.util.List;");
+			out.println("import javax.annotation.processing.Generated;");
+			out.println();
+			out.println("/**");
+			out.println(" * Dependency accessor of {@code " + binaryName + "}.");
+			out.println(" */");
+			out.println("@Generated(\"" + DependencyProcessor.class.getName() + "\")");
+			out.println("public final class " + simpleName + " implements DependencyAccessor {");
+			out.println();
+			for (VariableElement field : fields) {
+				out.println("\tprivate static final VarHandle " + constantName(field) + ";");
+			}
+			out.println();
+			out.println("\tstatic {");
+			out.println("\t\ttry {");
+			out.println("\t\t\tClass<?> type = " + typeExpression + ";");
+			out.println("\t\t\tMethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());");
+			for (VariableElement field : fields) {
+				out.println("\t\t\t" + constantName(field) + " = lookup.findVarHandle(type, \"" + field.getSimpleName()
+						+ "\", " + types.erasure(field.asType()) + ".class);");
+			}
+			out.println("\t\t} catch (ReflectiveOperationException e) {");
+			out.println("\t\t\tthrow new ExceptionInInitializerError(e);");
+			out.println("\t\t}");
+			out.println("\t}");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic void collect(ATask<?> task, List<ATask<?>> dependencies) {");
+			for (VariableElement field : tasks) {
+				out.println("\t\tDependencyAccessors.addTask(dependencies, " + constantName(field) + ".get(task));");
+			}
+			for (VariableElement field : collections) {
+				out.println("\t\tDependencyAccessors.addTasks(dependencies, " + constantName(field) + ".get(task));");
+			}
+			out.println("\t}");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic void clear(ATask<?> task) {");
+			for (VariableElement field : fields) {
+				out.println("\t\t" + constantName(field) + ".set(task, null);");
+			}
+			out.println("\t}");
+			out.println("}");
+		}
+	}
+
+	private static boolean isAccessible(TypeElement type) {
+		for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+			if (element.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String constantName(VariableElement field) {
+		return field.getSimpleName().toString().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+	}
+}
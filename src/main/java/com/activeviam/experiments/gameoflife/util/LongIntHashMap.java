@@ -0,0 +1,105 @@
+package com.activeviam.experiments.gameoflife.util;
+
+/**
+ * An open-addressing hash map from {@code long} keys to positive {@code int} values that does not box its entries.
+ * The values can only be increased, so that a zero value marks an empty slot. The entries are accessed by slot
+ * index:
+ * <pre>
+ * for (int slot = 0; slot &lt; map.capacity(); ++slot) {
+ *     if (map.valueAt(slot) != 0) {
+ *         process(map.keyAt(slot), map.valueAt(slot));
+ *     }
+ * }
+ * </pre>
+ */
+public class LongIntHashMap {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+
+	/**
+	 * Constructs an empty map.
+	 *
+	 * @param expectedSize Expected number of entries
+	 */
+	public LongIntHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+		this.keys = new long[capacity];
+		this.values = new int[capacity];
+	}
+
+	/**
+	 * Add a positive delta to the value of a key. Missing keys have the value {@code 0}.
+	 *
+	 * @param key   The key
+	 * @param delta The value to be added, must be positive
+	 */
+	public void add(long key, int delta) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (values[slot] != 0) {
+			if (keys[slot] == key) {
+				values[slot] += delta;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = delta;
+		if (++size * 2 > keys.length) {
+			grow();
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return keys.length;
+	}
+
+	public long keyAt(int slot) {
+		return keys[slot];
+	}
+
+	/**
+	 * Get the value stored in a slot.
+	 *
+	 * @param slot Slot index
+	 * @return The value, or {@code 0} if the slot is empty
+	 */
+	public int valueAt(int slot) {
+		return values[slot];
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[oldKeys.length * 2];
+		values = new int[oldValues.length * 2];
+
+		int mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; ++i) {
+			if (oldValues[i] == 0) {
+				continue;
+			}
+
+			int slot = hash(oldKeys[i]) & mask;
+			while (values[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = oldKeys[i];
+			values[slot] = oldValues[i];
+		}
+	}
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
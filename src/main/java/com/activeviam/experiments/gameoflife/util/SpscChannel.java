@@ -0,0 +1,96 @@
+package com.activeviam.experiments.gameoflife.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded blocking channel with a single producer thread and a single consumer thread. The elements are stored in a
+ * ring buffer, the positions are published by volatile writes, so no lock is taken. A thread that has to wait parks
+ * until the other side makes progress.
+ *
+ * @param <T> The type of the elements
+ */
+public class SpscChannel<T> {
+
+	private final Object[] buffer;
+	// Index of the next element to be read, written by the consumer only
+	private volatile long head = 0;
+	// Index of the next element to be written, written by the producer only
+	private volatile long tail = 0;
+	private volatile Thread waitingProducer;
+	private volatile Thread waitingConsumer;
+
+	/**
+	 * Constructs a new channel.
+	 *
+	 * @param capacity Maximal number of elements that were sent and not received yet
+	 */
+	public SpscChannel(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.buffer = new Object[capacity];
+	}
+
+	/**
+	 * Send an element, waiting while the channel is full. Must be called by the producer thread only.
+	 *
+	 * @param element The element, not null
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public void put(T element) throws InterruptedException {
+		long t = tail;
+		while (t - head == buffer.length) {
+			waitingProducer = Thread.currentThread();
+			// Check again after publishing the waiter, the consumer may have taken an element in-between
+			if (t - head == buffer.length) {
+				park();
+			}
+			waitingProducer = null;
+		}
+
+		buffer[(int) (t % buffer.length)] = element;
+		tail = t + 1;
+
+		Thread consumer = waitingConsumer;
+		if (consumer != null) {
+			LockSupport.unpark(consumer);
+		}
+	}
+
+	/**
+	 * Receive an element, waiting while the channel is empty. Must be called by the consumer thread only.
+	 *
+	 * @return The oldest element sent
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	@SuppressWarnings("unchecked")
+	public T take() throws InterruptedException {
+		long h = head;
+		while (tail == h) {
+			waitingConsumer = Thread.currentThread();
+			// Check again after publishing the waiter, the producer may have put an element in-between
+			if (tail == h) {
+				park();
+			}
+			waitingConsumer = null;
+		}
+
+		int idx = (int) (h % buffer.length);
+		T element = (T) buffer[idx];
+		buffer[idx] = null;
+		head = h + 1;
+
+		Thread producer = waitingProducer;
+		if (producer != null) {
+			LockSupport.unpark(producer);
+		}
+		return element;
+	}
+
+	private void park() throws InterruptedException {
+		LockSupport.park(this);
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+	}
+}